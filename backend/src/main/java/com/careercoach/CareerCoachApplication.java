@@ -2,8 +2,10 @@ package com.careercoach;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CareerCoachApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(CareerCoachApplication.class, args);
@@ -0,0 +1,236 @@
+package com.careercoach.config;
+
+import com.careercoach.models.CVAnalysisCacheEntry;
+import com.careercoach.models.CVReview;
+import com.careercoach.models.CVReviewUserSummary;
+import com.careercoach.models.Notification;
+import com.careercoach.models.SuccessStory;
+import com.careercoach.models.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Declares the indexes backing every repository query and builds them at startup.
+ * Spring Boot leaves Mongo auto-index creation off, so annotations alone never create anything;
+ * this is the single place where collection indexes are defined. Indexes replaced by a declaration
+ * are dropped once their replacement is built. After building, the live catalog is checked against
+ * the declarations and missing or unused indexes are reported.
+ */
+@Component
+@Slf4j
+public class MongoIndexManager {
+
+    private final MongoTemplate mongoTemplate;
+    private final AtomicInteger missingIndexes = new AtomicInteger();
+
+    public MongoIndexManager(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        meterRegistry.gauge("mongo.indexes.missing", missingIndexes);
+    }
+
+    /**
+     * Index declarations per collection, each matching a derived query's filter and sort
+     */
+    protected Map<String, List<Index>> declaredIndexes() {
+        Map<String, List<Index>> indexes = new LinkedHashMap<>();
+
+        indexes.put(collection(Notification.class), List.of(
+                // findByUserIdAndStatusOrderByCreatedAtDesc, countByUserIdAndStatus, markAllAsRead
+                new Index().on("userId", Sort.Direction.ASC).on("status", Sort.Direction.ASC)
+                        .on("createdAt", Sort.Direction.DESC).named("userId_status_createdAt"),
+                // keyset feed pages (findFeedPage), findByUserIdOrderByCreatedAtDesc, findByUserIdAndCreatedAtAfter...
+                new Index().on("userId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)
+                        .on("_id", Sort.Direction.DESC).named("userId_createdAt_id"),
+                // findByUserIdAndTypeOrderByCreatedAtDesc
+                new Index().on("userId", Sort.Direction.ASC).on("type", Sort.Direction.ASC)
+                        .on("createdAt", Sort.Direction.DESC).named("userId_type_createdAt"),
+                // findByRelatedEntityIdOrderByCreatedAtDesc
+                new Index().on("relatedEntityId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)
+                        .named("relatedEntityId_createdAt"),
+                // findActiveNotificationsByUserId
+                new Index().on("userId", Sort.Direction.ASC).on("purgeAt", Sort.Direction.ASC)
+                        .named("userId_purgeAt"),
+                // Retention: documents are removed once purgeAt has passed
+                new Index().on("purgeAt", Sort.Direction.ASC).expire(0).named("purgeAt_ttl")
+        ));
+
+        indexes.put(collection(CVReview.class), List.of(
+                // findByUserIdOrderByReviewDateDesc, countByUserId, date-range, top-N and keyset summary pages
+                new Index().on("userId", Sort.Direction.ASC).on("reviewDate", Sort.Direction.DESC)
+                        .on("_id", Sort.Direction.DESC).named("userId_reviewDate_id"),
+                // findByUserIdAndStatusOrderByReviewDateDesc, countByUserIdAndStatus
+                new Index().on("userId", Sort.Direction.ASC).on("status", Sort.Direction.ASC)
+                        .on("reviewDate", Sort.Direction.DESC).named("userId_status_reviewDate"),
+                // findQueuedPendingIdsBefore (stale analysis sweep)
+                new Index().on("status", Sort.Direction.ASC).on("analysisQueuedAt", Sort.Direction.ASC)
+                        .named("status_analysisQueuedAt")
+        ));
+
+        indexes.put(collection(CVAnalysisCacheEntry.class), List.of(
+                // Cached analysis results are removed once expiresAt has passed
+                new Index().on("expiresAt", Sort.Direction.ASC).expire(0).named("expiresAt_ttl")
+        ));
+
+        indexes.put(collection(CVReviewUserSummary.class), List.of(
+                // CVReviewSummaryStore.reconcile: stale summaries first, then least recently rebuilt
+                new Index().on("stale", Sort.Direction.DESC).on("rebuiltAt", Sort.Direction.ASC)
+                        .named("stale_rebuiltAt")
+        ));
+
+        indexes.put(collection(SuccessStory.class), List.of(
+                // findAllByOrderByCreatedAtDesc
+                new Index().on("createdAt", Sort.Direction.DESC).named("createdAt"),
+                // findByCategoryOrderByCreatedAtDesc
+                new Index().on("category", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)
+                        .named("category_createdAt"),
+                // findAllByOrderByLikesCountDesc
+                new Index().on("likesCount", Sort.Direction.DESC).named("likesCount"),
+                // findByAuthorIdOrderByCreatedAtDesc
+                new Index().on("authorId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)
+                        .named("authorId_createdAt")
+        ));
+
+        indexes.put(collection(User.class), List.of(
+                // findByEmail
+                new Index().on("email", Sort.Direction.ASC).unique().named("email_unique")
+        ));
+
+        return indexes;
+    }
+
+    /**
+     * Names of indexes a declaration has replaced, per collection; dropped after the declared ones are built
+     */
+    protected Map<String, List<String>> supersededIndexes() {
+        Map<String, List<String>> superseded = new LinkedHashMap<>();
+        // Replaced by userId_createdAt_id (keyset feed pages)
+        superseded.put(collection(Notification.class), List.of("userId_createdAt"));
+        // Replaced by userId_reviewDate_id (keyset summary pages) and status_analysisQueuedAt (stale analysis sweep)
+        superseded.put(collection(CVReview.class), List.of("userId_reviewDate", "status_updatedAt"));
+        return superseded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // Build in the background so startup is not held up by large collections
+        Thread worker = new Thread(this::ensureAndVerify, "mongo-index-manager");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Create any missing declared index, drop superseded ones, then report the state of the live catalog
+     */
+    public void ensureAndVerify() {
+        Map<String, List<Index>> declared = declaredIndexes();
+        Map<String, List<String>> superseded = supersededIndexes();
+        int missing = 0;
+
+        for (Map.Entry<String, List<Index>> entry : declared.entrySet()) {
+            String collection = entry.getKey();
+            for (Index index : entry.getValue()) {
+                try {
+                    mongoTemplate.indexOps(collection).createIndex(index.background());
+                } catch (Exception e) {
+                    log.error("Failed to build index {} on {}: {}", indexName(index), collection, e.getMessage());
+                }
+            }
+            dropSuperseded(collection, superseded.getOrDefault(collection, List.of()));
+            missing += verify(collection, entry.getValue());
+        }
+
+        missingIndexes.set(missing);
+        log.info("Mongo index check finished: {} declared indexes missing", missing);
+    }
+
+    private void dropSuperseded(String collection, List<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        Set<String> live = liveIndexNames(collection);
+        for (String name : names) {
+            if (!live.contains(name)) {
+                continue;
+            }
+            try {
+                mongoTemplate.indexOps(collection).dropIndex(name);
+                log.info("Dropped superseded index {} on {}", name, collection);
+            } catch (Exception e) {
+                log.error("Failed to drop superseded index {} on {}: {}", name, collection, e.getMessage());
+            }
+        }
+    }
+
+    private int verify(String collection, List<Index> declared) {
+        Set<String> live = liveIndexNames(collection);
+        Set<String> declaredNames = declared.stream().map(this::indexName).collect(Collectors.toSet());
+
+        List<String> missing = new ArrayList<>();
+        for (String name : declaredNames) {
+            if (!live.contains(name)) {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            log.warn("Collection {} is missing indexes {}", collection, missing);
+        }
+
+        for (String name : live) {
+            if (!"_id_".equals(name) && !declaredNames.contains(name)) {
+                log.warn("Collection {} has undeclared index {}", collection, name);
+            }
+        }
+
+        reportUnused(collection);
+        return missing.size();
+    }
+
+    // Indexes with no recorded operations since the server started
+    private void reportUnused(String collection) {
+        try {
+            List<Document> stats = mongoTemplate.getCollection(collection)
+                    .aggregate(List.of(new Document("$indexStats", new Document())))
+                    .into(new ArrayList<>());
+            for (Document stat : stats) {
+                Document accesses = stat.get("accesses", Document.class);
+                Number ops = accesses != null ? accesses.get("ops", Number.class) : null;
+                String name = stat.getString("name");
+                if (ops != null && ops.longValue() == 0 && !"_id_".equals(name)) {
+                    log.info("Index {} on {} has not been used since server start", name, collection);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Index usage stats unavailable for {}: {}", collection, e.getMessage());
+        }
+    }
+
+    private Set<String> liveIndexNames(String collection) {
+        return mongoTemplate.indexOps(collection).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private String indexName(Index index) {
+        return index.getIndexOptions().getString("name");
+    }
+
+    private String collection(Class<?> entityClass) {
+        return mongoTemplate.getCollectionName(entityClass);
+    }
+}
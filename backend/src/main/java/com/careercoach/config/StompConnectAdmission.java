@@ -0,0 +1,111 @@
+package com.careercoach.config;
+
+import com.careercoach.utility.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.StompSubProtocolErrorHandler;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Admission control for STOMP CONNECT frames on this node.
+ * After a deploy every browser reconnects at once; a token bucket caps how many CONNECTs
+ * are processed per second, and deferred clients get an ERROR frame with a jittered
+ * {@code retry-after-ms} header so their retries spread out instead of arriving together.
+ */
+@Component
+@Slf4j
+public class StompConnectAdmission extends StompSubProtocolErrorHandler {
+
+    public static final String RETRY_AFTER_HEADER = "retry-after-ms";
+
+    private final TokenBucket connectBucket;
+    private final long retryBaseMillis;
+    private final long retryJitterMillis;
+
+    private final Counter acceptedCounter;
+    private final Counter deferredCounter;
+
+    public StompConnectAdmission(MeterRegistry meterRegistry,
+                                 @Value("${app.websocket.connect.burst:200}") long burst,
+                                 @Value("${app.websocket.connect.per-second:50}") double perSecond,
+                                 @Value("${app.websocket.connect.retry-base-ms:1000}") long retryBaseMillis,
+                                 @Value("${app.websocket.connect.retry-jitter-ms:10000}") long retryJitterMillis) {
+        this.connectBucket = new TokenBucket(burst, perSecond);
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryJitterMillis = retryJitterMillis;
+        this.acceptedCounter = Counter.builder("websocket.connect")
+                .tag("outcome", "accepted")
+                .description("STOMP CONNECT frames admitted")
+                .register(meterRegistry);
+        this.deferredCounter = Counter.builder("websocket.connect")
+                .tag("outcome", "deferred")
+                .description("STOMP CONNECT frames deferred by admission control")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admit a CONNECT or throw {@link ConnectDeferredException} carrying the suggested retry delay
+     */
+    public void admit() {
+        if (connectBucket.tryAcquire()) {
+            acceptedCounter.increment();
+            return;
+        }
+
+        deferredCounter.increment();
+        long retryAfter = connectBucket.millisUntilNextToken() + retryBaseMillis
+                + ThreadLocalRandom.current().nextLong(retryJitterMillis + 1);
+        log.debug("Deferring STOMP CONNECT, suggested retry in {} ms", retryAfter);
+        throw new ConnectDeferredException(retryAfter);
+    }
+
+    @Override
+    public Message<byte[]> handleClientMessageProcessingError(Message<byte[]> clientMessage, Throwable ex) {
+        ConnectDeferredException deferred = findDeferred(ex);
+        if (deferred == null) {
+            return super.handleClientMessageProcessingError(clientMessage, ex);
+        }
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.ERROR);
+        accessor.setMessage("Server busy, reconnect later");
+        accessor.setNativeHeader(RETRY_AFTER_HEADER, String.valueOf(deferred.getRetryAfterMillis()));
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private ConnectDeferredException findDeferred(Throwable ex) {
+        while (ex != null) {
+            if (ex instanceof ConnectDeferredException deferred) {
+                return deferred;
+            }
+            ex = ex.getCause();
+        }
+        return null;
+    }
+
+    /**
+     * Raised when a CONNECT is refused by admission control
+     */
+    public static class ConnectDeferredException extends MessagingException {
+
+        private final long retryAfterMillis;
+
+        public ConnectDeferredException(long retryAfterMillis) {
+            super("Connection deferred, retry in " + retryAfterMillis + " ms");
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+}
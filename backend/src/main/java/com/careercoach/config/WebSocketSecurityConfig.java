@@ -15,8 +15,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import com.careercoach.models.AuthenticatedUser;
 import com.careercoach.utility.JwtTokenUtil;
 
+import io.jsonwebtoken.Claims;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Configuration
@@ -27,6 +30,9 @@ public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private StompConnectAdmission connectAdmission;
+
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(new ChannelInterceptor() {
@@ -35,6 +41,9 @@ public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer
                 StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
                 
                 if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    // Throttle reconnect storms before doing any token work
+                    connectAdmission.admit();
+
                     // Extract authentication from headers
                     String authToken = accessor.getFirstNativeHeader("Authorization");
                     
@@ -44,13 +53,17 @@ public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer
                         String token = authToken.substring(7);
                         
                         try {
-                            // Use proper JWT token validation
-                            if (jwtTokenUtil.validateToken(token)) {
-                                String username = jwtTokenUtil.getUsernameFromToken(token);
+                            // Verify once through the shared claims cache
+                            Claims claims = jwtTokenUtil.parseVerified(token);
+
+                            if (claims != null) {
+                                String username = claims.getSubject();
                                 
                                 if (username != null) {
+                                    // Principal built from the token claims; its name stays the email
+                                    AuthenticatedUser principal = jwtTokenUtil.toPrincipal(claims);
                                     Authentication auth = new UsernamePasswordAuthenticationToken(
-                                        username, null, null);
+                                        principal, null, principal.getAuthorities());
                                     SecurityContextHolder.getContext().setAuthentication(auth);
                                     accessor.setUser(auth);
                                     log.info("WebSocket connection authenticated for user: {}", username);
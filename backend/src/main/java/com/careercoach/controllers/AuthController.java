@@ -1,20 +1,22 @@
 package com.careercoach.controllers;
 
 import com.careercoach.models.User;
+import com.careercoach.service.LoginAuthenticationService;
 import com.careercoach.service.UserService;
 import com.careercoach.utility.JwtTokenUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -30,7 +32,7 @@ public class AuthController {
     private JwtTokenUtil jwtTokenUtil;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private LoginAuthenticationService loginAuthenticationService;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody User user) {
@@ -70,7 +72,7 @@ public class AuthController {
             User savedUser = userService.register(user);
 
             // Generate token
-            String token = jwtTokenUtil.generateToken(savedUser.getEmail());
+            String token = jwtTokenUtil.generateToken(savedUser);
 
             // Return success response with token
             Map<String, Object> response = new HashMap<>();
@@ -92,59 +94,71 @@ public class AuthController {
         }
     }
 
+    // Returns a future so the request thread is released while the password check waits on the hashing pool
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody User userRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody User userRequest) {
         try {
             // Validate input
             if (userRequest.getEmail() == null || userRequest.getPassword() == null) {
-                return ResponseEntity.badRequest().body(Map.of(
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
                         "success", false,
                         "message", "Email and password are required"
-                ));
+                )));
             }
 
             // Check if user exists first
             Optional<User> userOptional = userService.findByEmail(userRequest.getEmail());
             if (userOptional.isEmpty()) {
-                return ResponseEntity.status(401).body(Map.of(
+                return CompletableFuture.completedFuture(ResponseEntity.status(401).body(Map.of(
                         "success", false,
                         "message", "Invalid email or password"
-                ));
+                )));
             }
 
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            userRequest.getEmail(),
-                            userRequest.getPassword()
-                    )
-            );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
-            // Generate token
-            String token = jwtTokenUtil.generateToken(userRequest.getEmail());
-
             User user = userOptional.get();
 
-            // Return success response
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("token", token);
-            response.put("user", Map.of(
-                    "id", user.getId(),
-                    "email", user.getEmail(),
-                    "name", user.getName()
-            ));
-
-            return ResponseEntity.ok(response);
+            // Authenticate user on the bounded hashing pool
+            return loginAuthenticationService.authenticate(userRequest.getEmail(), userRequest.getPassword())
+                    .<ResponseEntity<?>>thenApply(authentication -> loginSuccess(user))
+                    .exceptionally(this::loginFailure);
 
         } catch (Exception e) {
-            System.out.println("Login error: " + e.getMessage());
-            return ResponseEntity.status(401).body(Map.of(
-                    "success", false,
-                    "message", "Invalid email or password"
-            ));
+            return CompletableFuture.completedFuture(loginFailure(e));
+        }
+    }
+
+    private ResponseEntity<?> loginSuccess(User user) {
+        // Generate token
+        String token = jwtTokenUtil.generateToken(user);
+
+        // Return success response
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("token", token);
+        response.put("user", Map.of(
+                "id", user.getId(),
+                "email", user.getEmail(),
+                "name", user.getName()
+        ));
+
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<?> loginFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            // Login pipeline saturated: fail fast and tell the client when to retry
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginAuthenticationService.getRetryAfterSeconds()))
+                    .body(Map.of(
+                            "success", false,
+                            "message", "Too many login attempts right now, please try again shortly"
+                    ));
         }
+        System.out.println("Login error: " + cause.getMessage());
+        return ResponseEntity.status(401).body(Map.of(
+                "success", false,
+                "message", "Invalid email or password"
+        ));
     }
-}
\ No newline at end of file
+}
@@ -1,34 +1,96 @@
 package com.careercoach.controllers;
 
+import com.careercoach.models.BatchScoreResult;
 import com.careercoach.models.CVReview;
+import com.careercoach.models.CVReviewSummary;
+import com.careercoach.models.CursorPage;
+import com.careercoach.models.ExtractedCvText;
+import com.careercoach.models.DashboardSection;
+import com.careercoach.service.BatchScoringService;
+import com.careercoach.service.CVAnalysisPipeline;
 import com.careercoach.service.CVReviewService;
+import com.careercoach.service.CvTextExtractionService;
+import com.careercoach.service.DashboardResponseCache;
+import com.careercoach.utility.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/cv-reviews")
 @CrossOrigin(origins = "*")
 public class CVReviewController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_JOBS = 200;
+    private static final long BATCH_SCORE_TIMEOUT_MS = 60_000;
+
     @Autowired
     private CVReviewService cvReviewService;
 
-    // Get dashboard data for a user
+    @Autowired
+    private CVAnalysisPipeline cvAnalysisPipeline;
+
+    @Autowired
+    private BatchScoringService batchScoringService;
+
+    @Autowired
+    private CvTextExtractionService cvTextExtractionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Get dashboard data for a user, optionally limited to ?sections=METRICS,PROGRESS_TRENDS,...
+    // The full dashboard is cached per user and revalidated with ETag / If-None-Match
     @GetMapping("/dashboard/{userId}")
-    public ResponseEntity<Map<String, Object>> getDashboardData(@PathVariable String userId) {
+    public ResponseEntity<?> getDashboardData(
+            @PathVariable String userId,
+            @RequestParam(required = false) List<DashboardSection> sections,
+            WebRequest request) {
         try {
-            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId);
-            return ResponseEntity.ok(dashboardData);
+            if (sections != null && !sections.isEmpty()) {
+                return ResponseEntity.ok(cvReviewService.getDashboardData(userId, EnumSet.copyOf(sections)));
+            }
+            
+            String etag = cvReviewService.getDashboardETag(userId);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            
+            DashboardResponseCache.CachedDashboard dashboard = cvReviewService.getCachedDashboard(userId);
+            return ResponseEntity.ok()
+                    .eTag(dashboard.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(dashboard.body());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to fetch dashboard data: " + e.getMessage()));
@@ -68,15 +130,37 @@ public class CVReviewController {
                 return ResponseEntity.badRequest().body("Job description is required");
             }
             
+            // Reviews submitted with CV text and no analysis are analyzed on the server
+            boolean analyzeOnServer = cvAnalysisPipeline.isEnabled() && cvReview.getOverallMatch() == null
+                    && cvReview.getCvText() != null && !cvReview.getCvText().isBlank();
+            
             // Set default values if not provided
-            if (cvReview.getStatus() == null) {
+            if (cvReview.getStatus() == null || analyzeOnServer) {
                 cvReview.setStatus("PENDING");
             }
+            if (analyzeOnServer) {
+                cvReview.setAnalysisQueuedAt(LocalDateTime.now());
+            }
             
             System.out.println("DEBUG: About to call cvReviewService.saveCVReview");
             CVReview savedReview = cvReviewService.saveCVReview(cvReview);
             System.out.println("DEBUG: CVReview saved successfully with ID: " + savedReview.getId());
             
+            if (analyzeOnServer) {
+                try {
+                    Optional<CVReview> completedFromCache = cvAnalysisPipeline.submit(savedReview, cvReview.getCvText());
+                    if (completedFromCache.isPresent()) {
+                        return ResponseEntity.ok(completedFromCache.get());
+                    }
+                } catch (RejectedExecutionException e) {
+                    cvReviewService.markAnalysisFailed(savedReview.getId());
+                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(cvAnalysisPipeline.getRetryAfterSeconds()))
+                        .body(Map.of("error", "CV analysis is busy, please try again shortly"));
+                }
+                return ResponseEntity.accepted().body(savedReview);
+            }
+            
             return ResponseEntity.ok(savedReview);
             
         } catch (Exception e) {
@@ -87,17 +171,164 @@ public class CVReviewController {
         }
     }
 
-    // Get all reviews for a user
+    // Extract the plain text of an uploaded PDF, DOC or DOCX CV
+    @PostMapping("/extract")
+    public ResponseEntity<?> extractCvText(@RequestParam("file") MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "File cannot be empty"));
+        }
+        try {
+            ExtractedCvText extracted = cvTextExtractionService.extract(file);
+            return ResponseEntity.ok(extracted);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(cvTextExtractionService.getRetryAfterSeconds()))
+                .body(Map.of("error", "CV text extraction is busy, please try again shortly"));
+        } catch (TimeoutException e) {
+            // The file itself is too heavy to parse; a retry would time out again
+            return ResponseEntity.unprocessableEntity()
+                .body(Map.of("error", "This file took too long to read; try a smaller or simpler file, or paste the text instead"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to extract CV text: " + e.getMessage()));
+        }
+    }
+
+    // Score one CV against many job descriptions; streams one NDJSON line per job as it finishes,
+    // then a final line with the job indexes ranked by score. Nothing is persisted.
+    @PostMapping(value = "/batch-score", produces = "application/x-ndjson")
+    public ResponseEntity<?> batchScore(@RequestBody BatchScoreRequest request) {
+        String error = request.validate();
+        if (error != null) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(Map.of("error", error));
+        }
+        
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(BATCH_SCORE_TIMEOUT_MS);
+        List<BatchScoreResult> results = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean closed = new AtomicBoolean();
+        
+        BatchScoringService.Batch batch = batchScoringService.score(request.getCvText(), request.toJobInputs(), result -> {
+            results.add(result);
+            sendLine(emitter, closed, result);
+        });
+        // Client gone, timed out or done: stop scoring jobs nobody will read
+        Runnable stop = () -> {
+            closed.set(true);
+            batch.cancel();
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(failure -> stop.run());
+        
+        batch.completion().whenComplete((ignored, failure) -> {
+            if (closed.get()) {
+                return;
+            }
+            if (failure != null) {
+                closed.set(true);
+                emitter.completeWithError(failure);
+                return;
+            }
+            List<Integer> ranking = results.stream()
+                    .sorted(Comparator.comparing(BatchScoreResult::getScore, Comparator.nullsLast(Comparator.reverseOrder()))
+                            .thenComparing(BatchScoreResult::getIndex))
+                    .map(BatchScoreResult::getIndex)
+                    .collect(Collectors.toList());
+            sendLine(emitter, closed, Map.of("done", true, "ranking", ranking));
+            if (closed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        });
+        
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(emitter);
+    }
+
+    // Persist the batch-scored jobs the user chose to keep, with their preliminary scores, and queue them
+    // for full analysis when the server has an analyzer. Otherwise they stay PENDING without analysisQueuedAt:
+    // the stale sweep leaves them alone and /complete finishes them like any review analyzed in the browser.
+    @PostMapping("/batch-score/keep")
+    public ResponseEntity<?> keepBatchScores(@RequestBody BatchKeepRequest request) {
+        if (request.getUserId() == null || request.getUserId().trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "User ID is required"));
+        }
+        String error = request.validate();
+        if (error != null) {
+            return ResponseEntity.badRequest().body(Map.of("error", error));
+        }
+        
+        try {
+            boolean analyzeOnServer = cvAnalysisPipeline.isEnabled();
+            List<CVReview> kept = new ArrayList<>();
+            for (BatchJob job : request.getJobs()) {
+                CVReview review = CVReview.builder()
+                        .userId(request.getUserId())
+                        .jobDescription(job.getJobDescription())
+                        .status("PENDING")
+                        .analysisQueuedAt(analyzeOnServer ? LocalDateTime.now() : null)
+                        .cvText(request.getCvText())
+                        .build();
+                CVReview savedReview = cvReviewService.saveCVReview(review);
+                if (!analyzeOnServer) {
+                    kept.add(savedReview);
+                    continue;
+                }
+                try {
+                    kept.add(cvAnalysisPipeline.submit(savedReview, request.getCvText()).orElse(savedReview));
+                } catch (RejectedExecutionException e) {
+                    cvReviewService.markAnalysisFailed(savedReview.getId());
+                    savedReview.setStatus("FAILED");
+                    kept.add(savedReview);
+                }
+            }
+            return ResponseEntity.ok(kept);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Error saving CV reviews: " + e.getMessage()));
+        }
+    }
+
+    // One JSON document per line; a failed send means the client went away, so stop writing
+    private void sendLine(ResponseBodyEmitter emitter, AtomicBoolean closed, Object value) {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            emitter.send(objectMapper.writeValueAsString(value) + "\n", MediaType.TEXT_PLAIN);
+        } catch (IOException | IllegalStateException e) {
+            if (closed.compareAndSet(false, true)) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    // Get a page of review summaries for a user (newest first); full documents come from GET /{reviewId}
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<CVReview>> getUserReviews(@PathVariable String userId) {
+    public ResponseEntity<?> getUserReviews(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
         try {
-            List<CVReview> reviews = cvReviewService.getUserReviews(userId);
-            return ResponseEntity.ok(reviews);
+            CursorPage<CVReviewSummary> page = cvReviewService.getUserReviewSummaries(userId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // Export every review summary of a user as NDJSON, newest first, streamed from a Mongo cursor
+    @GetMapping(value = "/user/{userId}/export", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> exportUserReviews(@PathVariable String userId, HttpServletResponse response) {
+        return NdjsonWriter.task(objectMapper, () -> cvReviewService.streamUserReviewSummaries(userId), response);
+    }
+
     // Get a specific review by ID
     @GetMapping("/{reviewId}")
     public ResponseEntity<CVReview> getReviewById(@PathVariable String reviewId) {
@@ -121,59 +352,25 @@ public class CVReviewController {
         }
     }
 
-    // Complete a CV review (simulate the completion process)
+    // Complete a CV review; idempotent, and only the first successful call sends the notification
     @PutMapping("/{reviewId}/complete")
     public ResponseEntity<?> completeCVReview(@PathVariable String reviewId) {
         try {
             System.out.println("DEBUG: CVReviewController.completeCVReview called for ID: " + reviewId);
             
-            Optional<CVReview> optionalReview = cvReviewService.getReviewById(reviewId);
-            if (optionalReview.isEmpty()) {
+            Optional<CVReviewService.CompletionResult> result = cvReviewService.completeCVReview(reviewId);
+            if (result.isEmpty()) {
                 System.out.println("ERROR: CV Review not found with ID: " + reviewId);
                 return ResponseEntity.notFound().build();
             }
             
-            CVReview review = optionalReview.get();
-            System.out.println("DEBUG: Found CV Review - userId: " + review.getUserId() + ", status: " + review.getStatus());
-            
-            // Preserve the existing overall match data from the initial analysis
-            // Only update if no overall match exists (shouldn't happen in normal flow)
-            if (review.getOverallMatch() == null) {
-                CVReview.OverallMatch overallMatch = CVReview.OverallMatch.builder()
-                    .score(75) // Default fallback score if no analysis data exists
-                    .summary("Your CV has been reviewed. Please check the detailed feedback below.")
-                    .build();
-                review.setOverallMatch(overallMatch);
-            }
-            review.setStatus("COMPLETED");
-            review.setUpdatedAt(LocalDateTime.now());
-            
-            // Preserve existing feedback data from the initial analysis
-            // Only add mock feedback if no existing data (shouldn't happen in normal flow)
-            if (review.getStrengths() == null || review.getStrengths().isEmpty()) {
-                review.setStrengths(Arrays.asList(
-                    "Strong technical background",
-                    "Relevant experience for the position",
-                    "Good educational background"
-                ));
-            }
-            
-            if (review.getWeaknesses() == null || review.getWeaknesses().isEmpty()) {
-                review.setWeaknesses(Arrays.asList(
-                    "Could include more quantifiable achievements",
-                    "Formatting could be improved"
-                ));
+            CVReview review = result.get().review();
+            if (!result.get().transitioned() && !"COMPLETED".equals(review.getStatus())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "CV review is " + review.getStatus() + " and cannot be completed"));
             }
             
-            if (review.getMissingSkills() == null || review.getMissingSkills().isEmpty()) {
-                review.setMissingSkills(Arrays.asList("Additional skills assessment needed"));
-            }
-            
-            System.out.println("DEBUG: About to save completed CV Review");
-            CVReview completedReview = cvReviewService.completeCVReview(review);
-            System.out.println("DEBUG: CV Review completed successfully with ID: " + completedReview.getId());
-            
-            return ResponseEntity.ok(completedReview);
+            return ResponseEntity.ok(review);
             
         } catch (Exception e) {
             System.out.println("ERROR: Exception in completeCVReview: " + e.getMessage());
@@ -182,18 +379,28 @@ public class CVReviewController {
                 .body("Error completing CV review: " + e.getMessage());
         }
     }
+
+    // Get a page of review summaries within a date range (newest first)
     @GetMapping("/user/{userId}/date-range")
-    public ResponseEntity<List<CVReview>> getReviewsInDateRange(
+    public ResponseEntity<?> getReviewsInDateRange(
             @PathVariable String userId,
             @RequestParam String startDate,
-            @RequestParam String endDate) {
+            @RequestParam String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
         try {
             DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
             LocalDateTime start = LocalDateTime.parse(startDate, formatter);
             LocalDateTime end = LocalDateTime.parse(endDate, formatter);
             
-            List<CVReview> reviews = cvReviewService.getReviewsInDateRange(userId, start, end);
-            return ResponseEntity.ok(reviews);
+            CursorPage<CVReviewSummary> page = cvReviewService.getReviewSummariesInDateRange(userId, start, end, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -215,8 +422,7 @@ public class CVReviewController {
     @GetMapping("/user/{userId}/count")
     public ResponseEntity<Map<String, Object>> getTotalReviewCount(@PathVariable String userId) {
         try {
-            List<CVReview> reviews = cvReviewService.getUserReviews(userId);
-            long totalCount = reviews.size();
+            long totalCount = cvReviewService.getTotalReviewCount(userId);
             return ResponseEntity.ok(Map.of("totalReviews", totalCount));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -228,7 +434,7 @@ public class CVReviewController {
     @GetMapping("/user/{userId}/progress")
     public ResponseEntity<Map<String, Object>> getProgressComparison(@PathVariable String userId) {
         try {
-            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId);
+            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId, EnumSet.of(DashboardSection.PROGRESS_COMPARISON));
             Map<String, Object> progressComparison = (Map<String, Object>) dashboardData.get("progressComparison");
             return ResponseEntity.ok(progressComparison);
         } catch (Exception e) {
@@ -241,7 +447,7 @@ public class CVReviewController {
     @GetMapping("/user/{userId}/metrics")
     public ResponseEntity<Map<String, Object>> getKeyMetrics(@PathVariable String userId) {
         try {
-            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId);
+            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId, EnumSet.of(DashboardSection.METRICS));
             Map<String, Object> metrics = (Map<String, Object>) dashboardData.get("metrics");
             return ResponseEntity.ok(metrics);
         } catch (Exception e) {
@@ -252,10 +458,10 @@ public class CVReviewController {
 
     // Get recent feedback (last 5 reviews)
     @GetMapping("/user/{userId}/recent-feedback")
-    public ResponseEntity<List<CVReview>> getRecentFeedback(@PathVariable String userId) {
+    public ResponseEntity<List<CVReviewSummary>> getRecentFeedback(@PathVariable String userId) {
         try {
-            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId);
-            List<CVReview> recentFeedback = (List<CVReview>) dashboardData.get("recentFeedback");
+            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId, EnumSet.of(DashboardSection.RECENT_FEEDBACK));
+            List<CVReviewSummary> recentFeedback = (List<CVReviewSummary>) dashboardData.get("recentFeedback");
             return ResponseEntity.ok(recentFeedback);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -266,11 +472,74 @@ public class CVReviewController {
     @GetMapping("/user/{userId}/trends")
     public ResponseEntity<List<Map<String, Object>>> getProgressTrends(@PathVariable String userId) {
         try {
-            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId);
+            Map<String, Object> dashboardData = cvReviewService.getDashboardData(userId, EnumSet.of(DashboardSection.PROGRESS_TRENDS));
             List<Map<String, Object>> progressTrends = (List<Map<String, Object>>) dashboardData.get("progressTrends");
             return ResponseEntity.ok(progressTrends);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A job description to score in a batch
+     */
+    public static class BatchJob {
+        private String jobId;
+        private String title;
+        private String jobDescription;
+
+        public String getJobId() { return jobId; }
+        public void setJobId(String jobId) { this.jobId = jobId; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public String getJobDescription() { return jobDescription; }
+        public void setJobDescription(String jobDescription) { this.jobDescription = jobDescription; }
+    }
+
+    /**
+     * DTO for scoring one CV against many job descriptions
+     */
+    public static class BatchScoreRequest {
+        private String cvText;
+        private List<BatchJob> jobs;
+
+        public String getCvText() { return cvText; }
+        public void setCvText(String cvText) { this.cvText = cvText; }
+
+        public List<BatchJob> getJobs() { return jobs; }
+        public void setJobs(List<BatchJob> jobs) { this.jobs = jobs; }
+
+        String validate() {
+            if (cvText == null || cvText.isBlank()) {
+                return "cvText is required";
+            }
+            if (jobs == null || jobs.isEmpty() || jobs.size() > MAX_BATCH_JOBS) {
+                return "jobs is required (at most " + MAX_BATCH_JOBS + " per request)";
+            }
+            for (BatchJob job : jobs) {
+                if (job == null || job.getJobDescription() == null || job.getJobDescription().isBlank()) {
+                    return "Every job needs a jobDescription";
+                }
+            }
+            return null;
+        }
+
+        List<BatchScoringService.JobInput> toJobInputs() {
+            return jobs.stream()
+                    .map(job -> new BatchScoringService.JobInput(job.getJobId(), job.getTitle(), job.getJobDescription()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * DTO for persisting the batch-scored jobs a user keeps
+     */
+    public static class BatchKeepRequest extends BatchScoreRequest {
+        private String userId;
+
+        public String getUserId() { return userId; }
+        public void setUserId(String userId) { this.userId = userId; }
+    }
+}
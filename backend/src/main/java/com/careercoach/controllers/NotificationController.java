@@ -1,19 +1,26 @@
 package com.careercoach.controllers;
 
+import com.careercoach.models.CursorPage;
 import com.careercoach.models.Notification;
+import com.careercoach.models.NotificationStatus;
 import com.careercoach.models.NotificationType;
 import com.careercoach.service.NotificationService;
+import com.careercoach.utility.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -22,38 +29,57 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class NotificationController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Get all notifications for the authenticated user with pagination
+     * Get a page of notifications for the authenticated user, newest first.
+     * Pass the returned nextCursor back as cursor to get the following page.
      */
     @GetMapping
-    public ResponseEntity<Page<Notification>> getUserNotifications(
+    public ResponseEntity<?> getUserNotifications(
             Authentication authentication,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        
-        try {
-            String userId = authentication.getName();
-            Page<Notification> notifications = notificationService.getUserNotifications(userId, page, size);
-            return ResponseEntity.ok(notifications);
-        } catch (Exception e) {
-            log.error("Error fetching notifications: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        return getNotificationFeed(authentication, cursor, limit);
     }
 
     /**
-     * Get all notifications for the authenticated user (without pagination)
+     * Get notifications for the authenticated user in the largest page size; older ones via nextCursor
      */
     @GetMapping("/all")
-    public ResponseEntity<List<Notification>> getAllUserNotifications(Authentication authentication) {
+    public ResponseEntity<?> getAllUserNotifications(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor) {
+        return getNotificationFeed(authentication, cursor, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Export every notification of the authenticated user as NDJSON (one document per line), newest first.
+     * Rows are streamed from a Mongo cursor, so the full history is never held in memory.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> exportNotifications(Authentication authentication, HttpServletResponse response) {
+        String userId = authentication.getName();
+        return NdjsonWriter.task(objectMapper, () -> notificationService.streamUserNotifications(userId), response);
+    }
+
+    private ResponseEntity<?> getNotificationFeed(Authentication authentication, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
         try {
             String userId = authentication.getName();
-            List<Notification> notifications = notificationService.getUserNotifications(userId);
+            CursorPage<Notification> notifications = notificationService.getNotificationFeed(userId, cursor, limit);
             return ResponseEntity.ok(notifications);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            log.error("Error fetching all notifications: {}", e.getMessage());
+            log.error("Error fetching notifications: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -146,7 +172,7 @@ public class NotificationController {
         
         try {
             String userId = authentication.getName();
-            boolean success = notificationService.markAsRead(notificationId, userId);
+            boolean success = notificationService.markAsRead(notificationId, userId).isPresent();
             
             if (success) {
                 return ResponseEntity.ok(Map.of("message", "Notification marked as read"));
@@ -171,7 +197,7 @@ public class NotificationController {
         
         try {
             String userId = authentication.getName();
-            boolean success = notificationService.markAsDismissed(notificationId, userId);
+            boolean success = notificationService.markAsDismissed(notificationId, userId).isPresent();
             
             if (success) {
                 return ResponseEntity.ok(Map.of("message", "Notification dismissed"));
@@ -190,11 +216,14 @@ public class NotificationController {
      * Mark all notifications as read
      */
     @PutMapping("/read-all")
-    public ResponseEntity<Map<String, String>> markAllAsRead(Authentication authentication) {
+    public ResponseEntity<Map<String, Object>> markAllAsRead(Authentication authentication) {
         try {
             String userId = authentication.getName();
-            notificationService.markAllAsRead(userId);
-            return ResponseEntity.ok(Map.of("message", "All notifications marked as read"));
+            long modified = notificationService.markAllAsRead(userId);
+            return ResponseEntity.ok(Map.of(
+                "message", "All notifications marked as read",
+                "modifiedCount", modified
+            ));
         } catch (Exception e) {
             log.error("Error marking all notifications as read: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -202,6 +231,38 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Mark or dismiss a list of notifications in one request
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<Map<String, Object>> batchUpdate(
+            Authentication authentication,
+            @RequestBody BatchUpdateRequest request) {
+        
+        NotificationStatus status = request.toStatus();
+        if (status == null) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Action must be READ or DISMISS"));
+        }
+        if (request.getNotificationIds() == null || request.getNotificationIds().size() > NotificationService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "notificationIds is required (at most " + NotificationService.MAX_BATCH_SIZE + " per request)"));
+        }
+
+        try {
+            String userId = authentication.getName();
+            long modified = notificationService.updateNotificationsStatus(userId, request.getNotificationIds(), status);
+            return ResponseEntity.ok(Map.of(
+                "message", "Notifications updated",
+                "modifiedCount", modified
+            ));
+        } catch (Exception e) {
+            log.error("Error batch updating notifications: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Internal server error"));
+        }
+    }
+
     /**
      * Delete a notification
      */
@@ -237,6 +298,7 @@ public class NotificationController {
         
         try {
             String userId = authentication.getName();
+            // Wait for the write queue so the response carries the stored notification
             Notification notification = notificationService.createNotification(
                 userId,
                 request.getType(),
@@ -244,14 +306,40 @@ public class NotificationController {
                 request.getMessage(),
                 request.getPriority(),
                 request.getMetadata()
-            );
+            ).join();
             return ResponseEntity.status(HttpStatus.CREATED).body(notification);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+            }
+            log.error("Error creating test notification: {}", e.getCause().getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         } catch (Exception e) {
             log.error("Error creating test notification: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * DTO for batch status updates
+     */
+    public static class BatchUpdateRequest {
+        private List<String> notificationIds;
+        private String action; // READ or DISMISS
+
+        public List<String> getNotificationIds() { return notificationIds; }
+        public void setNotificationIds(List<String> notificationIds) { this.notificationIds = notificationIds; }
+        
+        public String getAction() { return action; }
+        public void setAction(String action) { this.action = action; }
+
+        NotificationStatus toStatus() {
+            if ("READ".equalsIgnoreCase(action)) return NotificationStatus.READ;
+            if ("DISMISS".equalsIgnoreCase(action) || "DISMISSED".equalsIgnoreCase(action)) return NotificationStatus.DISMISSED;
+            return null;
+        }
+    }
+
     /**
      * DTO for test notification creation
      */
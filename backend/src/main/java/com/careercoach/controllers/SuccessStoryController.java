@@ -1,11 +1,12 @@
 package com.careercoach.controllers;
 
+import com.careercoach.models.AuthenticatedUser;
 import com.careercoach.models.SuccessStory;
 import com.careercoach.service.SuccessStoryService;
-import com.careercoach.utility.JwtTokenUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -20,23 +21,11 @@ public class SuccessStoryController {
     @Autowired
     private SuccessStoryService successStoryService;
 
-    @Autowired
-    private JwtTokenUtil jwtTokenUtil;
-
-    private String extractEmailFromToken(String token) {
-        if (token == null || !token.startsWith("Bearer ")) {
-            throw new RuntimeException("Invalid token format");
-        }
-        String jwtToken = token.replace("Bearer ", "");
-        return jwtTokenUtil.getUsernameFromToken(jwtToken);
-    }
 
     @PostMapping
     public ResponseEntity<?> createStory(@RequestBody SuccessStory story, 
-                                       @RequestHeader("Authorization") String token) {
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String userEmail = extractEmailFromToken(token);
-            
             // Validate input
             if (story.getTitle() == null || story.getTitle().trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of(
@@ -52,7 +41,7 @@ public class SuccessStoryController {
                 ));
             }
             
-            SuccessStory createdStory = successStoryService.createStory(story, userEmail);
+            SuccessStory createdStory = successStoryService.createStory(story, currentUser);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -133,10 +122,9 @@ public class SuccessStoryController {
     }
 
     @GetMapping("/my-stories")
-    public ResponseEntity<?> getMyStories(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getMyStories(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String userEmail = extractEmailFromToken(token);
-            List<SuccessStory> stories = successStoryService.getStoriesByUser(userEmail);
+            List<SuccessStory> stories = successStoryService.getStoriesByUser(currentUser.getId());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -154,11 +142,9 @@ public class SuccessStoryController {
     @PutMapping("/{id}")
     public ResponseEntity<?> updateStory(@PathVariable String id,
                                        @RequestBody SuccessStory story,
-                                       @RequestHeader("Authorization") String token) {
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String userEmail = extractEmailFromToken(token);
-            
-            SuccessStory updatedStory = successStoryService.updateStory(id, story, userEmail);
+            SuccessStory updatedStory = successStoryService.updateStory(id, story, currentUser.getId());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -187,11 +173,9 @@ public class SuccessStoryController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteStory(@PathVariable String id,
-                                       @RequestHeader("Authorization") String token) {
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String userEmail = extractEmailFromToken(token);
-            
-            successStoryService.deleteStory(id, userEmail);
+            successStoryService.deleteStory(id, currentUser.getId());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -219,11 +203,9 @@ public class SuccessStoryController {
 
     @PostMapping("/{id}/like")
     public ResponseEntity<?> toggleLike(@PathVariable String id,
-                                      @RequestHeader("Authorization") String token) {
+                                      @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String userEmail = extractEmailFromToken(token);
-            
-            SuccessStory story = successStoryService.toggleLike(id, userEmail);
+            SuccessStory story = successStoryService.toggleLike(id, currentUser.getId());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -248,9 +230,8 @@ public class SuccessStoryController {
     @PostMapping("/{id}/comments")
     public ResponseEntity<?> addComment(@PathVariable String id,
                                       @RequestBody Map<String, String> request,
-                                      @RequestHeader("Authorization") String token) {
+                                      @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            String userEmail = extractEmailFromToken(token);
             String content = request.get("content");
             
             if (content == null || content.trim().isEmpty()) {
@@ -260,7 +241,7 @@ public class SuccessStoryController {
                 ));
             }
             
-            SuccessStory story = successStoryService.addComment(id, content, userEmail);
+            SuccessStory story = successStoryService.addComment(id, content, currentUser);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
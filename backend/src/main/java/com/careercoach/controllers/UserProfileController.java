@@ -1,11 +1,12 @@
 package com.careercoach.controllers;
 
+import com.careercoach.models.AuthenticatedUser;
 import com.careercoach.models.User;
 import com.careercoach.service.UserService;
 import com.careercoach.service.FileUploadService;
-import com.careercoach.utility.JwtTokenUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -22,22 +23,16 @@ public class UserProfileController {
     @Autowired
     private FileUploadService fileUploadService;
 
-    @Autowired
-    private JwtTokenUtil jwtTokenUtil;
-
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getProfile(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            // Extract email from JWT token
-            String jwtToken = token.replace("Bearer ", "");
-            String email = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            
-            if (email == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401).body(Map.of(
                     "success", false,
                     "message", "Invalid token"
                 ));
             }
+            String email = currentUser.getEmail();
 
             User userProfile = userService.getProfile(email);
             
@@ -57,19 +52,16 @@ public class UserProfileController {
 
     @PutMapping("/profile")
     public ResponseEntity<?> updateProfile(
-            @RequestHeader("Authorization") String token,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @RequestBody User profileData) {
         try {
-            // Extract email from JWT token
-            String jwtToken = token.replace("Bearer ", "");
-            String email = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            
-            if (email == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401).body(Map.of(
                     "success", false,
                     "message", "Invalid token"
                 ));
             }
+            String email = currentUser.getEmail();
 
             User updatedUser = userService.updateProfile(email, profileData);
             // Remove password from response
@@ -93,21 +85,13 @@ public class UserProfileController {
     @PostMapping("/upload-profile-picture")
     public ResponseEntity<?> uploadProfilePicture(
             @RequestParam("profilePicture") MultipartFile file,
-            @RequestHeader("Authorization") String token) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            // Extract user ID from token
-            String jwt = token.substring(7);
-            String email = jwtTokenUtil.getUsernameFromToken(jwt);
-            
-            // Get user to get user ID
-            User user = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            
             // Upload profile picture using FileUploadService
-            String profilePictureUrl = fileUploadService.uploadProfilePicture(file, user.getId().toString());
+            String profilePictureUrl = fileUploadService.uploadProfilePicture(file, currentUser.getId());
             
             // Update user profile picture
-            String updatedUrl = userService.updateProfilePicture(email, profilePictureUrl);
+            String updatedUrl = userService.updateProfilePicture(currentUser.getEmail(), profilePictureUrl);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Profile picture uploaded successfully");
@@ -124,18 +108,15 @@ public class UserProfileController {
     }
 
     @GetMapping("/progress")
-    public ResponseEntity<?> getProgress(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getProgress(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            // Extract email from JWT token
-            String jwtToken = token.replace("Bearer ", "");
-            String email = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            
-            if (email == null) {
+            if (currentUser == null) {
                 return ResponseEntity.status(401).body(Map.of(
                     "success", false,
                     "message", "Invalid token"
                 ));
             }
+            String email = currentUser.getEmail();
 
             User user = userService.getProfile(email);
             
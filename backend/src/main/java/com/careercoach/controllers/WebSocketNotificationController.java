@@ -1,6 +1,7 @@
 package com.careercoach.controllers;
 
 import com.careercoach.models.Notification;
+import com.careercoach.models.NotificationStatus;
 import com.careercoach.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Controller;
 import java.security.Principal;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Controller
 @RequiredArgsConstructor
@@ -46,9 +48,10 @@ public class WebSocketNotificationController {
         String notificationId = payload.get("notificationId");
         
         if (notificationId != null) {
-            boolean success = notificationService.markAsRead(notificationId, userId);
+            // Single atomic update matched on id and owner
+            Optional<Notification> updated = notificationService.markAsRead(notificationId, userId);
             
-            if (success) {
+            if (updated.isPresent()) {
                 log.info("Marked notification {} as read for user {} via WebSocket", notificationId, userId);
                 
                 // Send confirmation back to user
@@ -58,6 +61,7 @@ public class WebSocketNotificationController {
                     Map.of(
                         "action", "MARKED_READ",
                         "notificationId", notificationId,
+                        "readAt", updated.get().getReadAt(),
                         "success", true
                     )
                 );
@@ -86,9 +90,10 @@ public class WebSocketNotificationController {
         String notificationId = payload.get("notificationId");
         
         if (notificationId != null) {
-            boolean success = notificationService.markAsDismissed(notificationId, userId);
+            // Single atomic update matched on id and owner
+            Optional<Notification> updated = notificationService.markAsDismissed(notificationId, userId);
             
-            if (success) {
+            if (updated.isPresent()) {
                 log.info("Dismissed notification {} for user {} via WebSocket", notificationId, userId);
                 
                 // Send confirmation back to user
@@ -98,6 +103,7 @@ public class WebSocketNotificationController {
                     Map.of(
                         "action", "DISMISSED",
                         "notificationId", notificationId,
+                        "dismissedAt", updated.get().getDismissedAt(),
                         "success", true
                     )
                 );
@@ -125,8 +131,8 @@ public class WebSocketNotificationController {
         String userId = principal.getName();
         
         try {
-            notificationService.markAllAsRead(userId);
-            log.info("Marked all notifications as read for user {} via WebSocket", userId);
+            long modified = notificationService.markAllAsRead(userId);
+            log.info("Marked {} notifications as read for user {} via WebSocket", modified, userId);
             
             // Send confirmation back to user
             messagingTemplate.convertAndSendToUser(
@@ -134,6 +140,7 @@ public class WebSocketNotificationController {
                 "/queue/notification-updates",
                 Map.of(
                     "action", "ALL_MARKED_READ",
+                    "modifiedCount", modified,
                     "success", true
                 )
             );
@@ -153,6 +160,58 @@ public class WebSocketNotificationController {
         }
     }
 
+    /**
+     * Handle batch read/dismiss of several notifications via WebSocket
+     * Payload: { "notificationIds": [...], "action": "READ" | "DISMISS" }
+     */
+    @MessageMapping("/notifications/batch")
+    public void batchUpdateNotifications(@Payload Map<String, Object> payload, Principal principal) {
+        String userId = principal.getName();
+        String action = String.valueOf(payload.get("action"));
+        NotificationStatus status = "READ".equalsIgnoreCase(action) ? NotificationStatus.READ
+            : "DISMISS".equalsIgnoreCase(action) ? NotificationStatus.DISMISSED : null;
+        
+        if (status == null || !(payload.get("notificationIds") instanceof List<?> rawIds)
+                || rawIds.size() > NotificationService.MAX_BATCH_SIZE) {
+            messagingTemplate.convertAndSendToUser(
+                userId,
+                "/queue/notification-updates",
+                Map.of(
+                    "action", "BATCH_UPDATED",
+                    "success", false,
+                    "error", "Payload needs notificationIds (at most " + NotificationService.MAX_BATCH_SIZE
+                        + ") and an action of READ or DISMISS"
+                )
+            );
+            return;
+        }
+        
+        List<String> notificationIds = rawIds.stream().map(String::valueOf).toList();
+        try {
+            long modified = notificationService.updateNotificationsStatus(userId, notificationIds, status);
+            messagingTemplate.convertAndSendToUser(
+                userId,
+                "/queue/notification-updates",
+                Map.of(
+                    "action", "BATCH_UPDATED",
+                    "modifiedCount", modified,
+                    "success", true
+                )
+            );
+        } catch (Exception e) {
+            log.error("Failed to batch update notifications for user {}: {}", userId, e.getMessage());
+            messagingTemplate.convertAndSendToUser(
+                userId,
+                "/queue/notification-updates",
+                Map.of(
+                    "action", "BATCH_UPDATED",
+                    "success", false,
+                    "error", "Failed to update notifications"
+                )
+            );
+        }
+    }
+
     /**
      * Handle client ping for connection health check
      */
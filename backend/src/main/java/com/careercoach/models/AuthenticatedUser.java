@@ -0,0 +1,57 @@
+package com.careercoach.models;
+
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Security principal for an authenticated user.
+ * Carries the user id and display name so controllers and services don't have to
+ * look the user up by email again. The username is the email, as before.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final String id;
+    private final String email;
+    private final String name;
+    private final String profilePicture;
+    private String password;
+
+    public AuthenticatedUser(String id, String email, String name, String profilePicture, String password) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.profilePicture = profilePicture;
+        this.password = password;
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName(),
+                user.getProfilePicture(), user.getPassword());
+    }
+
+    // Independent copy, so erasing credentials on it leaves the original intact
+    public AuthenticatedUser copy() {
+        return new AuthenticatedUser(id, email, name, profilePicture, password);
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
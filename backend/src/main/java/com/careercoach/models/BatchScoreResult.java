@@ -0,0 +1,22 @@
+package com.careercoach.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Preliminary score of one CV against one job description in a batch scoring run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchScoreResult {
+
+    private int index; // position of the job in the request
+    private String jobId; // caller-supplied reference, echoed back
+    private String title;
+    private Integer score;
+    private List<String> matchedSkills;
+    private List<String> missingSkills;
+}
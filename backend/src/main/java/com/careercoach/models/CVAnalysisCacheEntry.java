@@ -0,0 +1,27 @@
+package com.careercoach.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored analysis result for a (CV text, job description, analyzer version) combination.
+ * Removed by the TTL index once expiresAt has passed.
+ */
+@Document(collection = "cv_analysis_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CVAnalysisCacheEntry {
+
+    @Id
+    private String key;
+
+    private String analyzerVersion;
+    private CVAnalysisResult result;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
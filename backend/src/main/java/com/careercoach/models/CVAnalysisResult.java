@@ -0,0 +1,38 @@
+package com.careercoach.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Output of a CvAnalyzer: the analysis fields of a CVReview, without any review metadata
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CVAnalysisResult {
+
+    private CVReview.OverallMatch overallMatch;
+    private List<String> strengths;
+    private List<String> weaknesses;
+    private List<String> missingSkills;
+    private List<CVReview.Recommendation> recommendations;
+    private CVReview.KeywordOptimization keywordOptimization;
+    private CVReview.FormattingFeedback formatting;
+    private CVReview.Suitability suitability;
+
+    /**
+     * Copy the analysis onto a review
+     */
+    public void applyTo(CVReview review) {
+        review.setOverallMatch(overallMatch);
+        review.setStrengths(strengths);
+        review.setWeaknesses(weaknesses);
+        review.setMissingSkills(missingSkills);
+        review.setRecommendations(recommendations);
+        review.setKeywordOptimization(keywordOptimization);
+        review.setFormatting(formatting);
+        review.setSuitability(suitability);
+    }
+}
@@ -1,6 +1,8 @@
 package com.careercoach.models;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.*;
 import jakarta.validation.constraints.NotBlank;
@@ -23,8 +25,10 @@ public class CVReview {
     @NotBlank(message = "User ID is required")
     private String userId;
     
+    // Submitted and returned with the review, but stored once in job_descriptions and referenced by id
     @NotBlank(message = "Job description is required")
     private String jobDescription;
+    private String jobDescriptionId;
     private String cvFileName;
     private String cvFilePath;
     
@@ -38,12 +42,25 @@ public class CVReview {
     private FormattingFeedback formatting;
     private Suitability suitability;
     
+    // Local skill-overlap score, available as soon as the review is saved
+    private PreliminaryScore preliminary;
+    
     // Metadata
     private LocalDateTime reviewDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String status; // COMPLETED, PENDING, FAILED
     
+    // Set when the review was saved for server-side analysis; only such reviews are failed when left PENDING
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime analysisQueuedAt;
+    
+    // Extracted CV text submitted for server-side analysis; never stored, returned or logged
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @ToString.Exclude
+    private String cvText;
+    
     // Nested Classes for structured data
     @Data
     @NoArgsConstructor
@@ -90,4 +107,15 @@ public class CVReview {
         private String verdict; // Highly Suitable, Suitable, Needs Improvement, Not Suitable
         private String reasoning;
     }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PreliminaryScore {
+        private Integer score; // 0-100, null when no known skills appear in the job description
+        private List<String> matchedSkills;
+        private List<String> missingSkills;
+        private LocalDateTime computedAt;
+    }
 }
\ No newline at end of file
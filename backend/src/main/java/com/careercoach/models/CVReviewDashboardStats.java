@@ -0,0 +1,42 @@
+package com.careercoach.models;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of the dashboard aggregation over a user's cv_reviews.
+ * Every facet comes back as a list; metrics holds at most one entry.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CVReviewDashboardStats {
+
+    private List<ScorePoint> latestScores = new ArrayList<>(); // newest first, at most two
+    private List<Metrics> metrics = new ArrayList<>();
+    private List<ScorePoint> trends = new ArrayList<>(); // oldest first, scored reviews only
+    private List<CVReviewSummary> recent = new ArrayList<>(); // newest first, at most five
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScorePoint {
+        private String reviewId;
+        private LocalDateTime date;
+        private Integer score;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Metrics {
+        private long total;
+        private Double averageScore;
+        private Integer highestScore;
+        private Integer lowestScore;
+        private long totalRecommendations;
+    }
+}
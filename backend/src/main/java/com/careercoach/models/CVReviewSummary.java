@@ -0,0 +1,26 @@
+package com.careercoach.models;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a CVReview for list views and the dashboard.
+ * Leaves out the job description and the feedback lists.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CVReviewSummary {
+
+    private String id;
+    private LocalDateTime reviewDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Integer score; // overallMatch.score
+    private String summary; // overallMatch.summary
+    private String verdict; // suitability.verdict
+    private String status;
+    private String cvFileName;
+}
@@ -0,0 +1,45 @@
+package com.careercoach.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materialized per-user rollup of cv_reviews, kept current by the review write paths.
+ * A stale summary is rebuilt from cv_reviews before it is read.
+ */
+@Document(collection = "cv_review_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CVReviewUserSummary {
+
+    @Id
+    private String userId;
+
+    private long count;
+    private long completedCount;
+    private long scoreSum;
+    private long scoredCount;
+    private Integer minScore;
+    private Integer maxScore;
+    private long totalRecommendations;
+
+    // Newest reviews first, capped; the first two give the progress comparison
+    @Builder.Default
+    private List<CVReviewDashboardStats.ScorePoint> recent = new ArrayList<>();
+
+    // Scored reviews oldest first, keeping only the newest points
+    @Builder.Default
+    private List<CVReviewDashboardStats.ScorePoint> trends = new ArrayList<>();
+
+    private boolean stale;
+    private long version; // bumped by every write so a rebuild never overwrites a newer update
+    private LocalDateTime rebuiltAt;
+    private LocalDateTime updatedAt;
+}
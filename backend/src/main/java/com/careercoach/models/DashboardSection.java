@@ -0,0 +1,23 @@
+package com.careercoach.models;
+
+/**
+ * Sections of the CV review dashboard; each maps to a key of the dashboard response
+ */
+public enum DashboardSection {
+    TOTAL_REVIEWS("totalReviews"),
+    LATEST_REVIEW("latestReview"),
+    PROGRESS_COMPARISON("progressComparison"),
+    METRICS("metrics"),
+    RECENT_FEEDBACK("recentFeedback"),
+    PROGRESS_TRENDS("progressTrends");
+
+    private final String key;
+
+    DashboardSection(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
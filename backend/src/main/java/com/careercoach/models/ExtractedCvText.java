@@ -0,0 +1,19 @@
+package com.careercoach.models;
+
+import lombok.*;
+
+/**
+ * Plain text extracted from an uploaded CV file
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ExtractedCvText {
+
+    private String sha256; // of the uploaded bytes
+    private String format; // PDF, DOC or DOCX
+    private String text;
+    private boolean truncated; // text was cut at the configured character limit
+    private boolean cached;
+}
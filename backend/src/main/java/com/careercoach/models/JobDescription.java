@@ -0,0 +1,24 @@
+package com.careercoach.models;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A job description stored once and referenced by CV reviews through its content hash
+ */
+@Document(collection = "job_descriptions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobDescription {
+
+    @Id
+    private String id; // SHA-256 of the text
+
+    private String text;
+    private LocalDateTime createdAt;
+}
@@ -2,7 +2,6 @@ package com.careercoach.models;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.index.Indexed;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -21,7 +20,6 @@ public class Notification {
     private String id;
 
     @NotBlank(message = "User ID is required")
-    @Indexed
     private String userId;
 
     @NotNull(message = "Notification type is required")
@@ -59,6 +57,9 @@ public class Notification {
     // Expiry date for temporary notifications
     private LocalDateTime expiresAt;
 
+    // When the TTL index removes this document: expiresAt if set, otherwise createdAt plus the retention period
+    private LocalDateTime purgeAt;
+
     // Mark notification as read
     public void markAsRead() {
         this.status = NotificationStatus.READ;
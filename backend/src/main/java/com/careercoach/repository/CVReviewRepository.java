@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface CVReviewRepository extends MongoRepository<CVReview, String> {
+public interface CVReviewRepository extends MongoRepository<CVReview, String>, CVReviewRepositoryCustom {
     
     // Find all reviews for a specific user
     List<CVReview> findByUserIdOrderByReviewDateDesc(String userId);
@@ -0,0 +1,52 @@
+package com.careercoach.repository;
+
+import com.careercoach.models.CVAnalysisResult;
+import com.careercoach.models.CVReview;
+import com.careercoach.models.CVReviewDashboardStats;
+import com.careercoach.models.CVReviewSummary;
+import com.careercoach.utility.KeysetCursor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * CV review queries computed inside MongoDB
+ */
+public interface CVReviewRepositoryCustom {
+
+    // Dashboard rollups for a user in one $facet aggregation over (userId, reviewDate)
+    CVReviewDashboardStats aggregateDashboard(String userId);
+
+    // Projected (id, reviewDate, score) points in reviewDate order; limit <= 0 means no limit
+    List<CVReviewDashboardStats.ScorePoint> findScorePoints(String userId, Sort.Direction direction,
+                                                          int limit, boolean scoredOnly);
+
+    // One page of a user's reviews projected onto CVReviewSummary, ordered by (reviewDate, id) desc.
+    // from/to bound reviewDate when non-null; after is the last row of the previous page
+    List<CVReviewSummary> findSummaryPage(String userId, LocalDateTime from, LocalDateTime to,
+                                          KeysetCursor after, int limit);
+
+    // Every review of a user projected onto CVReviewSummary in the same order, read lazily from a cursor;
+    // the caller must close the stream
+    Stream<CVReviewSummary> streamSummaries(String userId);
+
+    // Reviews by id projected onto CVReviewSummary, newest first
+    List<CVReviewSummary> findSummariesByIds(List<String> reviewIds);
+
+    // Atomically move a PENDING review to COMPLETED with the given analysis and return the completed review,
+    // or null if it was not PENDING. With keepExisting, analysis fields only fill gaps in the stored review.
+    Completion completePending(String reviewId, CVAnalysisResult analysis, boolean keepExisting, LocalDateTime at);
+
+    // Atomically move a PENDING review to FAILED; returns the previous review or null if it was not PENDING
+    CVReview failPending(String reviewId, LocalDateTime at);
+
+    // Ids of up to limit PENDING reviews queued for analysis before the cutoff, oldest first
+    List<String> findQueuedPendingIdsBefore(LocalDateTime cutoff, int limit);
+
+    // A completed review plus what its score and recommendation count were while PENDING,
+    // derived from the filter that matched; previousKnown is false when they could not be derived
+    record Completion(CVReview review, boolean previousKnown, Integer previousScore, int previousRecommendations) {
+    }
+}
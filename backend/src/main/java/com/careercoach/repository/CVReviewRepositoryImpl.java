@@ -0,0 +1,283 @@
+package com.careercoach.repository;
+
+import com.careercoach.models.CVAnalysisResult;
+import com.careercoach.models.CVReview;
+import com.careercoach.models.CVReviewDashboardStats;
+import com.careercoach.models.CVReviewSummary;
+import com.careercoach.utility.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+@RequiredArgsConstructor
+public class CVReviewRepositoryImpl implements CVReviewRepositoryCustom {
+
+    private static final int RECENT_REVIEWS = 5;
+    // Documents fetched per cursor round trip when streaming exports
+    private static final int STREAM_BATCH_SIZE = 200;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public CVReviewDashboardStats aggregateDashboard(String userId) {
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("userId").is(userId)),
+                sort(Sort.Direction.DESC, "reviewDate"),
+                facet(
+                        limit(2),
+                        scorePointProjection()
+                ).as("latestScores")
+                .and(metricsGroup()).as("metrics")
+                .and(
+                        match(Criteria.where("overallMatch.score").ne(null)),
+                        sort(Sort.Direction.ASC, "reviewDate"),
+                        scorePointProjection()
+                ).as("trends")
+                .and(
+                        limit(RECENT_REVIEWS),
+                        summaryProjection()
+                ).as("recent")
+        );
+
+        CVReviewDashboardStats stats = mongoTemplate
+                .aggregate(aggregation, collection(), CVReviewDashboardStats.class)
+                .getUniqueMappedResult();
+        return stats != null ? stats : new CVReviewDashboardStats();
+    }
+
+    @Override
+    public List<CVReviewDashboardStats.ScorePoint> findScorePoints(String userId, Sort.Direction direction,
+                                                                 int limit, boolean scoredOnly) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (scoredOnly) {
+            criteria = criteria.and("overallMatch.score").ne(null);
+        }
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(match(criteria));
+        operations.add(sort(direction, "reviewDate"));
+        if (limit > 0) {
+            operations.add(limit(limit));
+        }
+        operations.add(scorePointProjection());
+
+        return mongoTemplate.aggregate(newAggregation(operations), collection(),
+                CVReviewDashboardStats.ScorePoint.class).getMappedResults();
+    }
+
+    @Override
+    public List<CVReviewSummary> findSummaryPage(String userId, LocalDateTime from, LocalDateTime to,
+                                                 KeysetCursor after, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (from != null && to != null) {
+            criteria = criteria.and("reviewDate").gte(from).lte(to);
+        }
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(match(criteria));
+        if (after != null) {
+            // Keyset: strictly after the previous page's last (reviewDate, _id)
+            operations.add(match(new Criteria().orOperator(
+                    Criteria.where("reviewDate").lt(after.timestamp()),
+                    Criteria.where("reviewDate").is(after.timestamp()).and("_id").lt(new ObjectId(after.id())))));
+        }
+        operations.add(sort(Sort.by(Sort.Direction.DESC, "reviewDate").and(Sort.by(Sort.Direction.DESC, "_id"))));
+        operations.add(limit(limit));
+        operations.add(summaryProjection());
+
+        return mongoTemplate.aggregate(newAggregation(operations), collection(), CVReviewSummary.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public Stream<CVReviewSummary> streamSummaries(String userId) {
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("userId").is(userId)),
+                sort(Sort.by(Sort.Direction.DESC, "reviewDate").and(Sort.by(Sort.Direction.DESC, "_id"))),
+                summaryProjection()
+        ).withOptions(AggregationOptions.builder().cursorBatchSize(STREAM_BATCH_SIZE).build());
+        return mongoTemplate.aggregateStream(aggregation, collection(), CVReviewSummary.class);
+    }
+
+    @Override
+    public List<CVReviewSummary> findSummariesByIds(List<String> reviewIds) {
+        List<ObjectId> ids = reviewIds.stream().filter(ObjectId::isValid).map(ObjectId::new).toList();
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("_id").in(ids)),
+                sort(Sort.Direction.DESC, "reviewDate"),
+                summaryProjection()
+        );
+        return mongoTemplate.aggregate(aggregation, collection(), CVReviewSummary.class).getMappedResults();
+    }
+
+    // Each attempt narrows the PENDING filter so the matched one tells what the review held before,
+    // which saves reading it back; the usual case for each caller is tried first.
+    @Override
+    public Completion completePending(String reviewId, CVAnalysisResult analysis, boolean keepExisting, LocalDateTime at) {
+        if (keepExisting) {
+            // Filling gaps keeps a stored overallMatch, and recommendations too unless the fallback has some
+            UpdateDefinition update = fillMissingAnalysis(analysis, at);
+            boolean recommendationsKept = analysis.getRecommendations() == null || analysis.getRecommendations().isEmpty();
+            CVReview completed = completeMatching(pending(reviewId).addCriteria(Criteria.where("overallMatch").ne(null)), update);
+            if (completed != null) {
+                return new Completion(completed, recommendationsKept, scoreOf(completed), recommendationsOf(completed));
+            }
+            completed = completeMatching(pending(reviewId).addCriteria(Criteria.where("overallMatch").is(null)), update);
+            return completed != null
+                    ? new Completion(completed, recommendationsKept, null, recommendationsOf(completed))
+                    : null;
+        }
+
+        // Server-side analysis runs on reviews saved without any
+        UpdateDefinition update = overwriteAnalysis(analysis, at);
+        Query blank = pending(reviewId)
+                .addCriteria(Criteria.where("overallMatch").is(null).and("recommendations.0").exists(false));
+        CVReview completed = completeMatching(blank, update);
+        if (completed != null) {
+            return new Completion(completed, true, null, 0);
+        }
+        completed = completeMatching(pending(reviewId), update);
+        return completed != null ? new Completion(completed, false, null, 0) : null;
+    }
+
+    private CVReview completeMatching(Query query, UpdateDefinition update) {
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), CVReview.class);
+    }
+
+    private static Integer scoreOf(CVReview review) {
+        return review.getOverallMatch() != null ? review.getOverallMatch().getScore() : null;
+    }
+
+    private static int recommendationsOf(CVReview review) {
+        return review.getRecommendations() != null ? review.getRecommendations().size() : 0;
+    }
+
+    @Override
+    public CVReview failPending(String reviewId, LocalDateTime at) {
+        Update update = new Update().set("status", "FAILED").set("updatedAt", at);
+        return mongoTemplate.findAndModify(pending(reviewId), update,
+                FindAndModifyOptions.options().returnNew(false), CVReview.class);
+    }
+
+    @Override
+    public List<String> findQueuedPendingIdsBefore(LocalDateTime cutoff, int limit) {
+        Query query = new Query(Criteria.where("status").is("PENDING").and("analysisQueuedAt").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "analysisQueuedAt"))
+                .limit(limit);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, CVReview.class).stream().map(CVReview::getId).toList();
+    }
+
+    private Query pending(String reviewId) {
+        return new Query(Criteria.where("_id").is(reviewId).and("status").is("PENDING"));
+    }
+
+    // Set every analysis field the result provides
+    private Update overwriteAnalysis(CVAnalysisResult analysis, LocalDateTime at) {
+        Update update = new Update().set("status", "COMPLETED").set("updatedAt", at);
+        setIfPresent(update, "overallMatch", analysis.getOverallMatch());
+        setIfPresent(update, "strengths", analysis.getStrengths());
+        setIfPresent(update, "weaknesses", analysis.getWeaknesses());
+        setIfPresent(update, "missingSkills", analysis.getMissingSkills());
+        setIfPresent(update, "recommendations", analysis.getRecommendations());
+        setIfPresent(update, "keywordOptimization", analysis.getKeywordOptimization());
+        setIfPresent(update, "formatting", analysis.getFormatting());
+        setIfPresent(update, "suitability", analysis.getSuitability());
+        return update;
+    }
+
+    private void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+
+    // Pipeline update: keep stored values, fall back to the result's only where a field is missing or empty
+    private AggregationUpdate fillMissingAnalysis(CVAnalysisResult fallback, LocalDateTime at) {
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("status").toValue("COMPLETED")
+                .set("updatedAt").toValue(at);
+        if (fallback.getOverallMatch() != null) {
+            update.set("overallMatch").toValue(ConditionalOperators.ifNull("overallMatch")
+                    .thenValueOf(literal(fallback.getOverallMatch())));
+        }
+        keepNonEmpty(update, "strengths", fallback.getStrengths());
+        keepNonEmpty(update, "weaknesses", fallback.getWeaknesses());
+        keepNonEmpty(update, "missingSkills", fallback.getMissingSkills());
+        keepNonEmpty(update, "recommendations", fallback.getRecommendations());
+        return update;
+    }
+
+    private void keepNonEmpty(AggregationUpdate update, String field, List<?> fallback) {
+        if (fallback == null) {
+            return;
+        }
+        update.set(field).toValue(ConditionalOperators
+                .when(ComparisonOperators.valueOf(ArrayOperators.Size.lengthOfArray(
+                        ConditionalOperators.ifNull(field).then(List.of()))).greaterThanValue(0))
+                .thenValueOf(field)
+                .otherwiseValueOf(literal(fallback)));
+    }
+
+    // $literal keeps user-visible text such as "$100k" from being read as a field path
+    private AggregationExpression literal(Object value) {
+        return LiteralOperators.Literal.asLiteral(mongoTemplate.getConverter().convertToMongoType(value));
+    }
+
+    private GroupOperation metricsGroup() {
+        return group()
+                .count().as("total")
+                .avg("overallMatch.score").as("averageScore")
+                .max("overallMatch.score").as("highestScore")
+                .min("overallMatch.score").as("lowestScore")
+                .sum(ArrayOperators.Size.lengthOfArray(
+                        ConditionalOperators.ifNull("recommendations").then(List.of())))
+                .as("totalRecommendations");
+    }
+
+    private ProjectionOperation scorePointProjection() {
+        return project()
+                .and("_id").as("reviewId")
+                .and("reviewDate").as("date")
+                .and("overallMatch.score").as("score")
+                .andExclude("_id");
+    }
+
+    /**
+     * Projection onto CVReviewSummary: drops the job description and the feedback lists
+     */
+    static ProjectionOperation summaryProjection() {
+        return project("reviewDate", "createdAt", "updatedAt", "status", "cvFileName")
+                .and("overallMatch.score").as("score")
+                .and("overallMatch.summary").as("summary")
+                .and("suitability.verdict").as("verdict");
+    }
+
+    private String collection() {
+        return mongoTemplate.getCollectionName(CVReview.class);
+    }
+}
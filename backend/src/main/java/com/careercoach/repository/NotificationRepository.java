@@ -3,8 +3,6 @@ package com.careercoach.repository;
 import com.careercoach.models.Notification;
 import com.careercoach.models.NotificationStatus;
 import com.careercoach.models.NotificationType;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,14 +11,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface NotificationRepository extends MongoRepository<Notification, String> {
+public interface NotificationRepository extends MongoRepository<Notification, String>, NotificationRepositoryCustom {
 
     // Find all notifications for a specific user
     List<Notification> findByUserIdOrderByCreatedAtDesc(String userId);
 
-    // Find notifications by user ID with pagination
-    Page<Notification> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
-
     // Find unread notifications for a user
     List<Notification> findByUserIdAndStatusOrderByCreatedAtDesc(String userId, NotificationStatus status);
 
@@ -33,13 +28,10 @@ public interface NotificationRepository extends MongoRepository<Notification, St
     // Find notifications created after a specific date
     List<Notification> findByUserIdAndCreatedAtAfterOrderByCreatedAtDesc(String userId, LocalDateTime after);
 
-    // Find notifications that are not expired
-    @Query("{ 'userId': ?0, $or: [ { 'expiresAt': null }, { 'expiresAt': { $gt: ?1 } } ] }")
+    // Find notifications that are not expired (range scan on the userId/purgeAt index)
+    @Query("{ 'userId': ?0, 'purgeAt': { $gt: ?1 } }")
     List<Notification> findActiveNotificationsByUserId(String userId, LocalDateTime currentTime);
 
-    // Delete old notifications (cleanup)
-    void deleteByCreatedAtBefore(LocalDateTime before);
-
     // Find notifications by priority
     List<Notification> findByUserIdAndPriorityOrderByCreatedAtDesc(String userId, String priority);
 
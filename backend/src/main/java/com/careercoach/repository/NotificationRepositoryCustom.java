@@ -0,0 +1,40 @@
+package com.careercoach.repository;
+
+import com.careercoach.models.Notification;
+import com.careercoach.models.NotificationStatus;
+import com.careercoach.utility.KeysetCursor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Server-side notification updates that don't fit derived queries
+ */
+public interface NotificationRepositoryCustom {
+
+    // Mark every unread notification of a user as read in one multi-document update
+    long markAllAsRead(String userId, LocalDateTime readAt);
+
+    // Move the given notifications of a user to READ (only from UNREAD) or DISMISSED in one update; returns the modified count
+    long updateStatusForIds(String userId, Collection<String> notificationIds, NotificationStatus status, LocalDateTime at);
+
+    // Atomically set the status of one notification matched on _id and userId (and currentStatus, if given).
+    // Only the changed fields are written; returns the updated document, or null when nothing matched
+    Notification findAndUpdateStatus(String notificationId, String userId, NotificationStatus currentStatus,
+                                     NotificationStatus status, LocalDateTime at);
+
+    // Set purgeAt on documents written before it existed: expiresAt, or createdAt plus the retention period
+    long backfillPurgeAt(Duration retention);
+
+    // Atomically delete one notification matched on _id and userId; returns the removed document or null
+    Notification findAndDeleteForUser(String notificationId, String userId);
+
+    // Up to limit notifications of a user strictly after the cursor, newest first by (createdAt, _id)
+    List<Notification> findFeedPage(String userId, KeysetCursor after, int limit);
+
+    // All notifications of a user, newest first, read lazily from a cursor; the caller must close the stream
+    Stream<Notification> streamForUser(String userId);
+}
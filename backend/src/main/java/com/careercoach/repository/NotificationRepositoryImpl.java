@@ -0,0 +1,116 @@
+package com.careercoach.repository;
+
+import com.careercoach.models.Notification;
+import com.careercoach.models.NotificationStatus;
+import com.careercoach.utility.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class NotificationRepositoryImpl implements NotificationRepositoryCustom {
+
+    // Documents fetched per cursor round trip when streaming exports
+    private static final int STREAM_BATCH_SIZE = 200;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long markAllAsRead(String userId, LocalDateTime readAt) {
+        Query query = new Query(Criteria.where("userId").is(userId)
+                .and("status").is(NotificationStatus.UNREAD));
+        Update update = new Update()
+                .set("status", NotificationStatus.READ)
+                .set("readAt", readAt);
+        return mongoTemplate.updateMulti(query, update, Notification.class).getModifiedCount();
+    }
+
+    @Override
+    public long updateStatusForIds(String userId, Collection<String> notificationIds,
+                                   NotificationStatus status, LocalDateTime at) {
+        Criteria criteria = Criteria.where("id").in(notificationIds).and("userId").is(userId);
+        if (status == NotificationStatus.READ) {
+            // Like markAllAsRead: only unread notifications become read, dismissed ones stay dismissed
+            criteria.and("status").is(NotificationStatus.UNREAD);
+        } else {
+            criteria.and("status").ne(status);
+        }
+        Query query = new Query(criteria);
+        return mongoTemplate.updateMulti(query, statusUpdate(status, at), Notification.class).getModifiedCount();
+    }
+
+    @Override
+    public Notification findAndUpdateStatus(String notificationId, String userId, NotificationStatus currentStatus,
+                                            NotificationStatus status, LocalDateTime at) {
+        Criteria criteria = Criteria.where("id").is(notificationId).and("userId").is(userId);
+        if (currentStatus != null) {
+            criteria.and("status").is(currentStatus);
+        }
+        return mongoTemplate.findAndModify(
+                new Query(criteria),
+                statusUpdate(status, at),
+                FindAndModifyOptions.options().returnNew(true),
+                Notification.class);
+    }
+
+    @Override
+    public Notification findAndDeleteForUser(String notificationId, String userId) {
+        Query query = new Query(Criteria.where("id").is(notificationId).and("userId").is(userId));
+        return mongoTemplate.findAndRemove(query, Notification.class);
+    }
+
+    @Override
+    public long backfillPurgeAt(Duration retention) {
+        Query query = new Query(Criteria.where("purgeAt").exists(false));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("purgeAt").toValue(ConditionalOperators.ifNull("expiresAt")
+                        .then(ArithmeticOperators.valueOf("createdAt").add(retention.toMillis())));
+        return mongoTemplate.updateMulti(query, update, Notification.class).getModifiedCount();
+    }
+
+    @Override
+    public List<Notification> findFeedPage(String userId, KeysetCursor after, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (after != null) {
+            // Keyset: strictly after the previous page's last (createdAt, _id); no skip, no count
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(after.timestamp()),
+                    Criteria.where("createdAt").is(after.timestamp()).and("id").lt(after.id()));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(limit);
+        return mongoTemplate.find(query, Notification.class);
+    }
+
+    @Override
+    public Stream<Notification> streamForUser(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, Notification.class);
+    }
+
+    private Update statusUpdate(NotificationStatus status, LocalDateTime at) {
+        Update update = new Update().set("status", status);
+        if (status == NotificationStatus.READ) {
+            update.set("readAt", at);
+        } else if (status == NotificationStatus.DISMISSED) {
+            update.set("dismissedAt", at);
+        }
+        return update;
+    }
+}
@@ -0,0 +1,144 @@
+package com.careercoach.service;
+
+import com.careercoach.models.CVAnalysisCacheEntry;
+import com.careercoach.models.CVAnalysisResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Content-addressed cache of analysis results, so resubmitting the same CV against the same
+ * job description does not run the analyzer again. Keys hash the normalized CV text and job
+ * description separately and are prefixed with the analyzer version, so results from an older
+ * analyzer are never reused. A bounded in-memory tier sits in front of the cv_analysis_cache collection.
+ */
+@Component
+@Slf4j
+public class AnalysisResultCache {
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final Cache<String, CVAnalysisResult> memory;
+
+    private final Counter memoryHits;
+    private final Counter mongoHits;
+    private final Counter misses;
+
+    public AnalysisResultCache(MongoTemplate mongoTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.analysis.cache.ttl-hours:168}") long ttlHours,
+                               @Value("${app.analysis.cache.memory-max-size:10000}") long memoryMaxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(memoryMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "analysisResults");
+
+        this.memoryHits = Counter.builder("analysis.cache.requests")
+                .tag("result", "hit").tag("tier", "memory")
+                .description("Analysis result cache lookups")
+                .register(meterRegistry);
+        this.mongoHits = Counter.builder("analysis.cache.requests")
+                .tag("result", "hit").tag("tier", "mongo")
+                .description("Analysis result cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("analysis.cache.requests")
+                .tag("result", "miss").tag("tier", "none")
+                .description("Analysis result cache lookups")
+                .register(meterRegistry);
+        meterRegistry.gauge("analysis.cache.hit.ratio", this, AnalysisResultCache::hitRatio);
+    }
+
+    /**
+     * Cache key for a CV / job description pair under the given analyzer version
+     */
+    public String keyFor(String analyzerVersion, String cvText, String jobDescription) {
+        return analyzerVersion + ":" + sha256(normalize(cvText)) + ":" + sha256(normalize(jobDescription));
+    }
+
+    /**
+     * Cached result, or null on a miss
+     */
+    public CVAnalysisResult get(String key) {
+        CVAnalysisResult cached = memory.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+
+        try {
+            CVAnalysisCacheEntry entry = mongoTemplate.findById(key, CVAnalysisCacheEntry.class);
+            // The TTL monitor runs about once a minute, so expired entries can still be found
+            if (entry != null && entry.getExpiresAt().isAfter(LocalDateTime.now())) {
+                memory.put(key, entry.getResult());
+                mongoHits.increment();
+                return entry.getResult();
+            }
+        } catch (Exception e) {
+            log.warn("Analysis cache lookup failed, treating as a miss: {}", e.getMessage());
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, String analyzerVersion, CVAnalysisResult result) {
+        memory.put(key, result);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            mongoTemplate.save(CVAnalysisCacheEntry.builder()
+                    .key(key)
+                    .analyzerVersion(analyzerVersion)
+                    .result(result)
+                    .createdAt(now)
+                    .expiresAt(now.plus(ttl))
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to store analysis result in cache: {}", e.getMessage());
+        }
+    }
+
+    private double hitRatio() {
+        double hits = memoryHits.count() + mongoHits.count();
+        double total = hits + misses.count();
+        return total > 0 ? hits / total : 0;
+    }
+
+    // Case, Unicode form and whitespace differences do not change the analysis
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    private String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
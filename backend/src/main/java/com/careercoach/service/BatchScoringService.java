@@ -0,0 +1,107 @@
+package com.careercoach.service;
+
+import com.careercoach.models.BatchScoreResult;
+import com.careercoach.models.CVReview;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Scores one CV against many job descriptions in parallel.
+ * The CV's skills are extracted once and shared by every task; each job description is
+ * matched and scored on a dedicated work-stealing pool, and results are handed to the caller
+ * as soon as each one finishes.
+ */
+@Service
+@Slf4j
+public class BatchScoringService {
+
+    private final SkillMatchService skillMatchService;
+    private final ForkJoinPool pool;
+    private final Timer batchTimer;
+
+    public BatchScoringService(SkillMatchService skillMatchService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.analysis.batch.parallelism:0}") int parallelism) {
+        this.skillMatchService = skillMatchService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("batch-score-" + threadNumber.incrementAndGet());
+                    return thread;
+                },
+                null,
+                true);
+        this.batchTimer = Timer.builder("analysis.batch.duration")
+                .description("Time to score one CV against a batch of job descriptions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Score the CV against every job description; onResult is called from pool threads as each
+     * score completes, and the batch's completion future completes once all of them have been delivered.
+     * Cancelling the batch skips every job that has not started yet.
+     */
+    public Batch score(String cvText, List<JobInput> jobs, Consumer<BatchScoreResult> onResult) {
+        Timer.Sample sample = Timer.start();
+        BitSet cvSkills = skillMatchService.extractSkills(cvText);
+
+        List<CompletableFuture<BatchScoreResult>> scores = new ArrayList<>(jobs.size());
+        CompletableFuture<?>[] delivered = new CompletableFuture<?>[jobs.size()];
+        for (int i = 0; i < jobs.size(); i++) {
+            int index = i;
+            JobInput job = jobs.get(i);
+            CompletableFuture<BatchScoreResult> score = CompletableFuture.supplyAsync(() -> scoreOne(index, job, cvSkills), pool);
+            scores.add(score);
+            delivered[i] = score.thenAccept(onResult);
+        }
+        CompletableFuture<Void> completion = CompletableFuture.allOf(delivered)
+                .whenComplete((ignored, error) -> sample.stop(batchTimer));
+        return new Batch(completion, scores);
+    }
+
+    private BatchScoreResult scoreOne(int index, JobInput job, BitSet cvSkills) {
+        CVReview.PreliminaryScore score = skillMatchService.preScore(
+                cvSkills, skillMatchService.extractSkills(job.jobDescription()));
+        return BatchScoreResult.builder()
+                .index(index)
+                .jobId(job.jobId())
+                .title(job.title())
+                .score(score.getScore())
+                .matchedSkills(score.getMatchedSkills())
+                .missingSkills(score.getMissingSkills())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public record JobInput(String jobId, String title, String jobDescription) {
+    }
+
+    public record Batch(CompletableFuture<Void> completion, List<CompletableFuture<BatchScoreResult>> scores) {
+
+        /**
+         * Stop scoring: jobs not yet started never run and their results are not delivered
+         */
+        public void cancel() {
+            scores.forEach(score -> score.cancel(false));
+        }
+    }
+}
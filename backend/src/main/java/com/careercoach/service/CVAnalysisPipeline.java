@@ -0,0 +1,299 @@
+package com.careercoach.service;
+
+import com.careercoach.models.CVAnalysisResult;
+import com.careercoach.models.CVReview;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs CV analysis for PENDING reviews on a fixed pool of workers.
+ * Jobs are queued per user and workers take users round-robin, so one user submitting
+ * many reviews cannot starve everyone else. Admission is bounded by a total queue capacity.
+ * Failed attempts are retried with exponential backoff; once attempts are exhausted the review
+ * is marked FAILED. Results are stored in the AnalysisResultCache, and a cache hit at submit time
+ * completes the review without queueing it. Jobs (and the CV text) live in memory only, so a scheduled sweep,
+ * which also runs at startup, fails reviews queued for analysis more than max-pending-minutes ago that are
+ * still PENDING and not held by this instance. Reviews the browser analyzes itself are never queued or swept.
+ * Without a configured {@link CvAnalyzer} the pipeline is disabled and reviews are saved as submitted.
+ */
+@Service
+@Slf4j
+public class CVAnalysisPipeline {
+
+    private static final int STALE_SWEEP_BATCH = 500;
+
+    private final CvAnalyzer analyzer;
+    private final CVReviewService cvReviewService;
+    private final AnalysisResultCache resultCache;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final long retryAfterSeconds;
+    private final long maxPendingMinutes;
+
+    private final Object lock = new Object();
+    private final Map<String, ArrayDeque<AnalysisJob>> queuesByUser = new HashMap<>();
+    private final ArrayDeque<String> readyUsers = new ArrayDeque<>();
+    private int queuedJobs;
+    // Reviews queued, running or waiting for a retry here; the stale sweep leaves them alone
+    private final Set<String> activeReviewIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final Timer waitTimer;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    public CVAnalysisPipeline(Optional<CvAnalyzer> analyzer,
+                              CVReviewService cvReviewService,
+                              AnalysisResultCache resultCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.analysis.workers:4}") int workerCount,
+                              @Value("${app.analysis.queue-capacity:1000}") int queueCapacity,
+                              @Value("${app.analysis.max-attempts:3}") int maxAttempts,
+                              @Value("${app.analysis.backoff-ms:1000}") long backoffMillis,
+                              @Value("${app.analysis.max-backoff-ms:30000}") long maxBackoffMillis,
+                              @Value("${app.analysis.retry-after-seconds:5}") long retryAfterSeconds,
+                              @Value("${app.analysis.max-pending-minutes:30}") long maxPendingMinutes) {
+        this.analyzer = analyzer.orElse(null);
+        this.cvReviewService = cvReviewService;
+        this.resultCache = resultCache;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.maxPendingMinutes = maxPendingMinutes;
+
+        this.waitTimer = Timer.builder("analysis.queue.wait")
+                .description("Time a CV analysis job waited for a worker")
+                .register(meterRegistry);
+        this.successTimer = Timer.builder("analysis.latency")
+                .tag("outcome", "success")
+                .description("CV analyzer run time")
+                .register(meterRegistry);
+        this.failureTimer = Timer.builder("analysis.latency")
+                .tag("outcome", "failure")
+                .description("CV analyzer run time")
+                .register(meterRegistry);
+        meterRegistry.gauge("analysis.queue.depth", this, CVAnalysisPipeline::getQueueDepth);
+
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cv-analysis-retry-"));
+        if (this.analyzer == null) {
+            this.workers = null;
+            log.info("CV analysis pipeline disabled: no analyzer configured (app.analysis.analyzer)");
+            return;
+        }
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("cv-analysis-"));
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::workLoop);
+        }
+        log.info("CV analysis pipeline started with {} workers using analyzer {}", workerCount, this.analyzer.version());
+    }
+
+    /**
+     * Whether server-side analysis is available; when false, callers keep reviews as submitted
+     */
+    public boolean isEnabled() {
+        return analyzer != null;
+    }
+
+    /**
+     * Analyze a saved PENDING review. A cached result for the same CV and job description completes
+     * the review immediately and is returned; otherwise the review is queued and empty is returned.
+     *
+     * @throws RejectedExecutionException when the queue is full; retry after {@link #getRetryAfterSeconds()}
+     */
+    public Optional<CVReview> submit(CVReview review, String cvText) {
+        if (analyzer == null) {
+            throw new IllegalStateException("CV analysis pipeline is disabled");
+        }
+        String cacheKey = resultCache.keyFor(analyzer.version(), cvText, review.getJobDescription());
+        CVAnalysisResult cached = resultCache.get(cacheKey);
+        if (cached != null) {
+            return cvReviewService.completeWithAnalysis(review.getId(), cached);
+        }
+
+        AnalysisJob job = new AnalysisJob(review.getId(), review.getUserId(), cvText, review.getJobDescription(), cacheKey);
+        synchronized (lock) {
+            if (queuedJobs >= queueCapacity) {
+                throw new RejectedExecutionException("CV analysis queue is full");
+            }
+            activeReviewIds.add(job.reviewId);
+            enqueueLocked(job);
+        }
+        return Optional.empty();
+    }
+
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return queuedJobs;
+        }
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private void enqueueLocked(AnalysisJob job) {
+        ArrayDeque<AnalysisJob> queue = queuesByUser.computeIfAbsent(job.userId, key -> new ArrayDeque<>());
+        if (queue.isEmpty()) {
+            readyUsers.addLast(job.userId);
+        }
+        job.enqueuedAtNanos = System.nanoTime();
+        queue.addLast(job);
+        queuedJobs++;
+        lock.notify();
+    }
+
+    /**
+     * Next job, taking one from each waiting user in turn
+     */
+    private AnalysisJob take() throws InterruptedException {
+        synchronized (lock) {
+            while (readyUsers.isEmpty()) {
+                lock.wait();
+            }
+            String userId = readyUsers.pollFirst();
+            ArrayDeque<AnalysisJob> queue = queuesByUser.get(userId);
+            AnalysisJob job = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queuesByUser.remove(userId);
+            } else {
+                readyUsers.addLast(userId);
+            }
+            queuedJobs--;
+            return job;
+        }
+    }
+
+    private void workLoop() {
+        while (running) {
+            try {
+                run(take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in CV analysis worker: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void run(AnalysisJob job) {
+        long startedAt = System.nanoTime();
+        waitTimer.record(startedAt - job.enqueuedAtNanos, TimeUnit.NANOSECONDS);
+        job.attempt++;
+
+        CVAnalysisResult result;
+        try {
+            result = analyzer.analyze(job.cvText, job.jobDescription);
+            successTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            resultCache.put(job.cacheKey, analyzer.version(), result);
+        } catch (Exception e) {
+            failureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            retryOrFail(job, e);
+            return;
+        }
+
+        try {
+            if (cvReviewService.completeWithAnalysis(job.reviewId, result).isEmpty()) {
+                log.info("CV review {} was deleted or completed before its analysis finished", job.reviewId);
+            }
+            activeReviewIds.remove(job.reviewId);
+        } catch (Exception e) {
+            retryOrFail(job, e);
+        }
+    }
+
+    private void retryOrFail(AnalysisJob job, Exception cause) {
+        if (job.attempt >= maxAttempts || !running) {
+            log.error("CV analysis for review {} failed after {} attempts: {}", job.reviewId, job.attempt, cause.getMessage());
+            try {
+                cvReviewService.markAnalysisFailed(job.reviewId);
+            } finally {
+                activeReviewIds.remove(job.reviewId);
+            }
+            return;
+        }
+
+        long delay = Math.min(maxBackoffMillis, backoffMillis << Math.min(job.attempt - 1, 20));
+        log.warn("CV analysis for review {} failed (attempt {}), retrying in {} ms: {}",
+                job.reviewId, job.attempt, delay, cause.getMessage());
+        // Retries were already admitted, so they re-enter the queue regardless of capacity
+        retryScheduler.schedule(() -> {
+            synchronized (lock) {
+                enqueueLocked(job);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Fail queued reviews nobody is working on. The first run happens at startup, when any queued review still
+     * PENDING lost its job with the previous process; the age threshold spares jobs other instances hold.
+     */
+    @Scheduled(fixedDelayString = "${app.analysis.stale-sweep-ms:300000}")
+    public void failStalePendingReviews() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            int failed = cvReviewService.failStalePendingReviews(
+                    LocalDateTime.now().minusMinutes(maxPendingMinutes), STALE_SWEEP_BATCH, activeReviewIds);
+            if (failed > 0) {
+                log.warn("Marked {} stale PENDING CV reviews as FAILED", failed);
+            }
+        } catch (Exception e) {
+            log.error("Failed to sweep stale PENDING CV reviews: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        retryScheduler.shutdownNow();
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    private static final class AnalysisJob {
+        private final String reviewId;
+        private final String userId;
+        private final String cvText;
+        private final String jobDescription;
+        private final String cacheKey;
+        private int attempt;
+        private long enqueuedAtNanos;
+
+        private AnalysisJob(String reviewId, String userId, String cvText, String jobDescription, String cacheKey) {
+            this.reviewId = reviewId;
+            this.userId = userId;
+            this.cvText = cvText;
+            this.jobDescription = jobDescription;
+            this.cacheKey = cacheKey;
+        }
+    }
+}
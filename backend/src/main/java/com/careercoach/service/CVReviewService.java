@@ -1,33 +1,72 @@
 package com.careercoach.service;
 
+import com.careercoach.models.CVAnalysisResult;
 import com.careercoach.models.CVReview;
+import com.careercoach.models.CVReviewDashboardStats;
+import com.careercoach.models.CursorPage;
+import com.careercoach.models.CVReviewSummary;
+import com.careercoach.models.CVReviewUserSummary;
+import com.careercoach.models.DashboardSection;
 import com.careercoach.repository.CVReviewRepository;
+import com.careercoach.repository.CVReviewRepositoryCustom;
+import com.careercoach.utility.KeysetCursor;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CVReviewService {
 
     private static final Logger logger = LoggerFactory.getLogger(CVReviewService.class);
+    
+    // Feedback used when a review is completed without (part of) an analysis
+    private static final CVAnalysisResult COMPLETION_FALLBACK = CVAnalysisResult.builder()
+            .overallMatch(CVReview.OverallMatch.builder()
+                    .score(75)
+                    .summary("Your CV has been reviewed. Please check the detailed feedback below.")
+                    .build())
+            .strengths(Arrays.asList(
+                    "Strong technical background",
+                    "Relevant experience for the position",
+                    "Good educational background"))
+            .weaknesses(Arrays.asList(
+                    "Could include more quantifiable achievements",
+                    "Formatting could be improved"))
+            .missingSkills(Arrays.asList("Additional skills assessment needed"))
+            .build();
 
     @Autowired
     private CVReviewRepository cvReviewRepository;
     
     @Autowired
     private NotificationEventPublisher notificationEventPublisher;
+    
+    @Autowired
+    private CVReviewSummaryStore cvReviewSummaryStore;
+    
+    @Autowired
+    private DashboardResponseCache dashboardResponseCache;
+    
+    @Autowired
+    private SkillMatchService skillMatchService;
+    
+    @Autowired
+    private JobDescriptionStore jobDescriptionStore;
 
     // Save a new CV review
     public CVReview saveCVReview(CVReview cvReview) {
         try {
             logger.info("DEBUG: CVReviewService.saveCVReview called");
-            logger.info("DEBUG: CVReview object: " + cvReview);
+            logger.info("DEBUG: CVReview id: " + cvReview.getId() + ", userId: " + cvReview.getUserId()
+                    + ", status: " + cvReview.getStatus());
             
             // Set timestamps
             LocalDateTime now = LocalDateTime.now();
@@ -37,8 +76,21 @@ public class CVReviewService {
                 cvReview.setReviewDate(now);
             }
             
+            boolean isNew = cvReview.getId() == null;
+            if (cvReview.getCvText() != null && cvReview.getPreliminary() == null) {
+                cvReview.setPreliminary(skillMatchService.preScore(cvReview.getCvText(), cvReview.getJobDescription()));
+            }
+            
             logger.info("DEBUG: About to save CVReview to repository");
-            CVReview savedReview = cvReviewRepository.save(cvReview);
+            CVReview savedReview = persist(cvReview);
+            updateSummary(() -> {
+                if (isNew) {
+                    cvReviewSummaryStore.recordCreated(savedReview);
+                } else {
+                    cvReviewSummaryStore.markStale(savedReview.getUserId());
+                }
+            });
+            dashboardResponseCache.invalidate(savedReview.getUserId());
             logger.info("DEBUG: CVReview saved with ID: " + savedReview.getId() + ", status: " + savedReview.getStatus());
             
             // Only trigger notification if the review is completed
@@ -50,95 +102,152 @@ public class CVReviewService {
         }
     }
 
-    // Complete a CV review and trigger notification
-    public CVReview completeCVReview(CVReview cvReview) {
-        try {
-            logger.info("DEBUG: CVReviewService.completeCVReview called for userId: " + cvReview.getUserId());
-            
-            // Save the completed review
-            CVReview savedReview = cvReviewRepository.save(cvReview);
-            logger.info("DEBUG: CV Review completed and saved with ID: " + savedReview.getId());
-            
-            // Extract feedback and score for notification
-            String feedback = "Your CV review has been completed.";
-            
-            if (savedReview.getOverallMatch() != null && savedReview.getOverallMatch().getSummary() != null) {
-                feedback = savedReview.getOverallMatch().getSummary();
-            }
-            
-            // Publish notification only when review is completed
-            try {
-                logger.info("DEBUG: About to publish CV review completed notification");
-                notificationEventPublisher.publishCvReviewCompleted(
-                    savedReview.getUserId(),
-                    savedReview.getId(),
-                    "Career Coach System", // reviewerName
-                    feedback
-                );
-                logger.info("DEBUG: CV review completed notification published successfully for ID: " + savedReview.getId());
-            } catch (Exception e) {
-                logger.error("ERROR: Failed to publish CV review notification: " + e.getMessage(), e);
+    // Atomically complete a PENDING review, filling fallback feedback where the analysis left gaps.
+    // Only the caller that performs the transition notifies; repeated calls return the current review unchanged.
+    public Optional<CompletionResult> completeCVReview(String reviewId) {
+        logger.info("DEBUG: CVReviewService.completeCVReview called for ID: " + reviewId);
+        
+        CVReviewRepositoryCustom.Completion completion =
+                cvReviewRepository.completePending(reviewId, COMPLETION_FALLBACK, true, LocalDateTime.now());
+        if (completion == null) {
+            return getReviewById(reviewId).map(current -> new CompletionResult(current, false));
+        }
+        return Optional.of(new CompletionResult(finishCompletion(completion), true));
+    }
+
+    // Apply a finished analysis to a PENDING review; empty if it was deleted or completed meanwhile
+    public Optional<CVReview> completeWithAnalysis(String reviewId, CVAnalysisResult analysis) {
+        CVReviewRepositoryCustom.Completion completion =
+                cvReviewRepository.completePending(reviewId, analysis, false, LocalDateTime.now());
+        if (completion == null) {
+            return Optional.empty();
+        }
+        return Optional.of(finishCompletion(completion));
+    }
+
+    // Record that analysis gave up on a PENDING review; false if it was no longer PENDING
+    public boolean markAnalysisFailed(String reviewId) {
+        CVReview previous = cvReviewRepository.failPending(reviewId, LocalDateTime.now());
+        if (previous != null) {
+            updateSummary(() -> cvReviewSummaryStore.recordChanged(previous.getUserId()));
+            dashboardResponseCache.invalidate(previous.getUserId());
+        }
+        return previous != null;
+    }
+
+    // Fail up to limit reviews still PENDING that were queued for analysis before the cutoff,
+    // except those the caller is still working on; returns how many were failed
+    public int failStalePendingReviews(LocalDateTime cutoff, int limit, Set<String> inProgress) {
+        int failed = 0;
+        for (String reviewId : cvReviewRepository.findQueuedPendingIdsBefore(cutoff, limit)) {
+            if (!inProgress.contains(reviewId) && markAnalysisFailed(reviewId)) {
+                failed++;
             }
-            
-            return savedReview;
-        } catch (Exception e) {
-            logger.error("ERROR: Exception in completeCVReview: " + e.getMessage(), e);
-            throw e;
         }
+        return failed;
     }
 
-    // Get dashboard data for a user
-    public Map<String, Object> getDashboardData(String userId) {
-        Map<String, Object> dashboardData = new HashMap<>();
-        
-        // Total number of reviews
-        long totalReviews = cvReviewRepository.countByUserId(userId);
-        dashboardData.put("totalReviews", totalReviews);
+    // Side effects of a completion this caller won: read model, dashboard cache and the notification
+    private CVReview finishCompletion(CVReviewRepositoryCustom.Completion completion) {
+        CVReview savedReview = completion.review();
+        resolveJobDescription(savedReview);
+        updateSummary(() -> {
+            if (completion.previousKnown()) {
+                cvReviewSummaryStore.recordCompleted(savedReview, completion.previousScore(), completion.previousRecommendations());
+            } else {
+                cvReviewSummaryStore.markStale(savedReview.getUserId());
+            }
+        });
+        dashboardResponseCache.invalidate(savedReview.getUserId());
         
-        // Get all reviews for the user
-        List<CVReview> allReviews = cvReviewRepository.findByUserIdOrderByReviewDateDesc(userId);
+        // Extract feedback and score for notification
+        String feedback = "Your CV review has been completed.";
         
-        // Latest review
-        CVReview latestReview = allReviews.isEmpty() ? null : allReviews.get(0);
-        dashboardData.put("latestReview", latestReview);
+        if (savedReview.getOverallMatch() != null && savedReview.getOverallMatch().getSummary() != null) {
+            feedback = savedReview.getOverallMatch().getSummary();
+        }
         
-        // Progress comparison (current vs previous review)
-        Map<String, Object> progressComparison = getProgressComparison(allReviews);
-        dashboardData.put("progressComparison", progressComparison);
+        // Publish notification only when review is completed
+        try {
+            logger.info("DEBUG: About to publish CV review completed notification");
+            notificationEventPublisher.publishCvReviewCompleted(
+                savedReview.getUserId(),
+                savedReview.getId(),
+                "Career Coach System", // reviewerName
+                feedback
+            );
+            logger.info("DEBUG: CV review completed notification queued for ID: " + savedReview.getId());
+        } catch (Exception e) {
+            logger.error("ERROR: Failed to publish CV review notification: " + e.getMessage(), e);
+        }
         
-        // Key metrics and trends
-        Map<String, Object> metrics = calculateKeyMetrics(allReviews);
-        dashboardData.put("metrics", metrics);
+        return savedReview;
+    }
+
+    // Serialized dashboard for a user, served from the versioned response cache
+    public DashboardResponseCache.CachedDashboard getCachedDashboard(String userId) throws JsonProcessingException {
+        return dashboardResponseCache.get(userId, () -> getDashboardData(userId));
+    }
+
+    // Current dashboard ETag, checked against If-None-Match before anything is computed
+    public String getDashboardETag(String userId) {
+        return dashboardResponseCache.currentETag(userId);
+    }
+
+    // Get dashboard data for a user from the materialized summary
+    public Map<String, Object> getDashboardData(String userId) {
+        return getDashboardData(userId, EnumSet.allOf(DashboardSection.class));
+    }
+
+    // Get only the requested dashboard sections
+    public Map<String, Object> getDashboardData(String userId, Set<DashboardSection> sections) {
+        Map<String, Object> dashboardData = new HashMap<>();
+        CVReviewUserSummary summary = cvReviewSummaryStore.get(userId);
         
-        // Recent feedback (last 5 reviews)
-        List<CVReview> recentReviews = allReviews.stream()
-                .limit(5)
-                .collect(Collectors.toList());
-        dashboardData.put("recentFeedback", recentReviews);
+        // Latest review and recent feedback need the review details behind the summary's id list
+        List<CVReviewSummary> recent = List.of();
+        if (sections.contains(DashboardSection.RECENT_FEEDBACK) || sections.contains(DashboardSection.LATEST_REVIEW)) {
+            List<String> recentIds = summary.getRecent().stream()
+                    .map(CVReviewDashboardStats.ScorePoint::getReviewId)
+                    .collect(Collectors.toList());
+            recent = recentIds.isEmpty() ? List.of() : cvReviewRepository.findSummariesByIds(recentIds);
+        }
         
-        // Progress trends over time
-        List<Map<String, Object>> progressTrends = calculateProgressTrends(allReviews);
-        dashboardData.put("progressTrends", progressTrends);
+        for (DashboardSection section : sections) {
+            switch (section) {
+                case TOTAL_REVIEWS -> dashboardData.put(section.getKey(), summary.getCount());
+                case LATEST_REVIEW -> dashboardData.put(section.getKey(), recent.isEmpty() ? null : recent.get(0));
+                case PROGRESS_COMPARISON -> dashboardData.put(section.getKey(), getProgressComparison(summary.getRecent()));
+                case METRICS -> dashboardData.put(section.getKey(), toMetricsMap(summary));
+                case RECENT_FEEDBACK -> dashboardData.put(section.getKey(), recent);
+                case PROGRESS_TRENDS -> dashboardData.put(section.getKey(), toTrendMaps(trendsOf(summary)));
+            }
+        }
         
         return dashboardData;
     }
 
+    // The summary keeps a bounded trend series; longer histories come from a projected scan
+    private List<CVReviewDashboardStats.ScorePoint> trendsOf(CVReviewUserSummary summary) {
+        if (summary.getScoredCount() <= summary.getTrends().size()) {
+            return summary.getTrends();
+        }
+        return cvReviewRepository.findScorePoints(summary.getUserId(), Sort.Direction.ASC, 0, true);
+    }
+
     // Compare progress between latest and previous review
-    private Map<String, Object> getProgressComparison(List<CVReview> reviews) {
+    private Map<String, Object> getProgressComparison(List<CVReviewDashboardStats.ScorePoint> latestScores) {
         Map<String, Object> comparison = new HashMap<>();
         
-        if (reviews.size() < 2) {
+        if (latestScores.size() < 2) {
             comparison.put("hasImprovement", false);
             comparison.put("message", "Need at least 2 reviews to compare progress");
             return comparison;
         }
         
-        CVReview latest = reviews.get(0);
-        CVReview previous = reviews.get(1);
-        
         // Compare overall match scores
-        Integer latestScore = latest.getOverallMatch() != null ? latest.getOverallMatch().getScore() : 0;
-        Integer previousScore = previous.getOverallMatch() != null ? previous.getOverallMatch().getScore() : 0;
+        Integer latestScore = latestScores.get(0).getScore() != null ? latestScores.get(0).getScore() : 0;
+        Integer previousScore = latestScores.get(1).getScore() != null ? latestScores.get(1).getScore() : 0;
         
         int scoreDifference = latestScore - previousScore;
         boolean hasImprovement = scoreDifference > 0;
@@ -162,91 +271,124 @@ public class CVReviewService {
         return comparison;
     }
 
-    // Calculate key metrics
-    private Map<String, Object> calculateKeyMetrics(List<CVReview> reviews) {
+    // Shape the summary's score rollup as the key metrics map
+    private Map<String, Object> toMetricsMap(CVReviewUserSummary summary) {
         Map<String, Object> metrics = new HashMap<>();
         
-        if (reviews.isEmpty()) {
-            metrics.put("averageScore", 0);
-            metrics.put("highestScore", 0);
-            metrics.put("lowestScore", 0);
-            metrics.put("totalRecommendations", 0);
-            return metrics;
-        }
-        
-        // Calculate average score
-        double averageScore = reviews.stream()
-                .filter(review -> review.getOverallMatch() != null && review.getOverallMatch().getScore() != null)
-                .mapToInt(review -> review.getOverallMatch().getScore())
-                .average()
-                .orElse(0.0);
-        
-        // Find highest and lowest scores
-        OptionalInt highestScore = reviews.stream()
-                .filter(review -> review.getOverallMatch() != null && review.getOverallMatch().getScore() != null)
-                .mapToInt(review -> review.getOverallMatch().getScore())
-                .max();
-        
-        OptionalInt lowestScore = reviews.stream()
-                .filter(review -> review.getOverallMatch() != null && review.getOverallMatch().getScore() != null)
-                .mapToInt(review -> review.getOverallMatch().getScore())
-                .min();
-        
-        // Count total recommendations
-        int totalRecommendations = reviews.stream()
-                .filter(review -> review.getRecommendations() != null)
-                .mapToInt(review -> review.getRecommendations().size())
-                .sum();
-        
+        double averageScore = summary.getScoredCount() > 0 ? (double) summary.getScoreSum() / summary.getScoredCount() : 0.0;
         metrics.put("averageScore", Math.round(averageScore * 100.0) / 100.0);
-        metrics.put("highestScore", highestScore.orElse(0));
-        metrics.put("lowestScore", lowestScore.orElse(0));
-        metrics.put("totalRecommendations", totalRecommendations);
+        metrics.put("highestScore", summary.getMaxScore() != null ? summary.getMaxScore() : 0);
+        metrics.put("lowestScore", summary.getMinScore() != null ? summary.getMinScore() : 0);
+        metrics.put("totalRecommendations", summary.getTotalRecommendations());
         
         return metrics;
     }
 
-    // Calculate progress trends over time
-    private List<Map<String, Object>> calculateProgressTrends(List<CVReview> reviews) {
-        return reviews.stream()
-                .filter(review -> review.getOverallMatch() != null && review.getOverallMatch().getScore() != null)
-                .sorted(Comparator.comparing(CVReview::getReviewDate))
-                .map(review -> {
+    // Shape the projected trend series (oldest first)
+    private List<Map<String, Object>> toTrendMaps(List<CVReviewDashboardStats.ScorePoint> points) {
+        return points.stream()
+                .map(point -> {
                     Map<String, Object> trend = new HashMap<>();
-                    trend.put("date", review.getReviewDate());
-                    trend.put("score", review.getOverallMatch().getScore());
-                    trend.put("reviewId", review.getId());
+                    trend.put("date", point.getDate());
+                    trend.put("score", point.getScore());
+                    trend.put("reviewId", point.getReviewId());
                     return trend;
                 })
                 .collect(Collectors.toList());
     }
 
-    // Get all reviews for a user
-    public List<CVReview> getUserReviews(String userId) {
-        return cvReviewRepository.findByUserIdOrderByReviewDateDesc(userId);
+    // Get one page of a user's review summaries, newest first
+    public CursorPage<CVReviewSummary> getUserReviewSummaries(String userId, String cursor, int limit) {
+        return getReviewSummaryPage(userId, null, null, cursor, limit);
+    }
+
+    // Stream every review summary of a user, newest first, for export; close the stream when done
+    public Stream<CVReviewSummary> streamUserReviewSummaries(String userId) {
+        return cvReviewRepository.streamSummaries(userId);
     }
 
     // Get a specific review by ID
     public Optional<CVReview> getReviewById(String reviewId) {
-        return cvReviewRepository.findById(reviewId);
+        Optional<CVReview> review = cvReviewRepository.findById(reviewId);
+        review.ifPresent(this::resolveJobDescription);
+        return review;
+    }
+
+    // Detail views show the job description text, which the review only references
+    private void resolveJobDescription(CVReview review) {
+        if (review.getJobDescription() == null && review.getJobDescriptionId() != null) {
+            review.setJobDescription(jobDescriptionStore.resolve(review.getJobDescriptionId()));
+        }
+    }
+
+    // Save a review with its job description interned; both the caller's and the returned instance keep the text
+    private CVReview persist(CVReview review) {
+        String jobDescription = review.getJobDescription();
+        if (jobDescription != null) {
+            review.setJobDescriptionId(jobDescriptionStore.intern(jobDescription));
+            review.setJobDescription(null);
+        }
+        try {
+            CVReview savedReview = cvReviewRepository.save(review);
+            savedReview.setJobDescription(jobDescription);
+            return savedReview;
+        } finally {
+            review.setJobDescription(jobDescription);
+        }
     }
 
     // Delete a review
     public void deleteReview(String reviewId) {
+        Optional<CVReview> review = cvReviewRepository.findById(reviewId);
         cvReviewRepository.deleteById(reviewId);
+        // Min/max and the recent list cannot be unwound incrementally
+        review.ifPresent(deleted -> {
+            updateSummary(() -> cvReviewSummaryStore.markStale(deleted.getUserId()));
+            dashboardResponseCache.invalidate(deleted.getUserId());
+        });
     }
 
-    // Get reviews within a date range
-    public List<CVReview> getReviewsInDateRange(String userId, LocalDateTime startDate, LocalDateTime endDate) {
-        return cvReviewRepository.findByUserIdAndReviewDateBetweenOrderByReviewDateDesc(userId, startDate, endDate);
+    // Get one page of review summaries within a date range, newest first
+    public CursorPage<CVReviewSummary> getReviewSummariesInDateRange(String userId, LocalDateTime startDate,
+                                                                     LocalDateTime endDate, String cursor, int limit) {
+        return getReviewSummaryPage(userId, startDate, endDate, cursor, limit);
+    }
+
+    // Fetch one row past the page to know whether another page exists
+    private CursorPage<CVReviewSummary> getReviewSummaryPage(String userId, LocalDateTime startDate,
+                                                             LocalDateTime endDate, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<CVReviewSummary> rows = cvReviewRepository.findSummaryPage(userId, startDate, endDate, after, limit + 1);
+        
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<CVReviewSummary> page = rows.subList(0, limit);
+        CVReviewSummary last = page.get(limit - 1);
+        return new CursorPage<>(page, new KeysetCursor(last.getReviewDate(), last.getId()).encode());
+    }
+
+    // Count reviews for a user
+    public long getTotalReviewCount(String userId) {
+        return cvReviewSummaryStore.get(userId).getCount();
+    }
+
+    // Summary maintenance never fails the review write; the reconcile job repairs any drift
+    private void updateSummary(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            logger.error("ERROR: Failed to update CV review summary: " + e.getMessage(), e);
+        }
     }
 
     // Get review statistics
     public Map<String, Object> getReviewStatistics(String userId) {
         Map<String, Object> stats = new HashMap<>();
         
-        long totalReviews = cvReviewRepository.countByUserId(userId);
-        long completedReviews = cvReviewRepository.countByUserIdAndStatus(userId, "COMPLETED");
+        CVReviewUserSummary summary = cvReviewSummaryStore.get(userId);
+        long totalReviews = summary.getCount();
+        long completedReviews = summary.getCompletedCount();
         
         stats.put("totalReviews", totalReviews);
         stats.put("completedReviews", completedReviews);
@@ -254,4 +396,10 @@ public class CVReviewService {
         
         return stats;
     }
-}
\ No newline at end of file
+
+    /**
+     * Outcome of a completion request; transitioned is false when the review was not PENDING
+     */
+    public record CompletionResult(CVReview review, boolean transitioned) {
+    }
+}
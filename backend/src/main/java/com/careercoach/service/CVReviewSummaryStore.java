@@ -0,0 +1,248 @@
+package com.careercoach.service;
+
+import com.careercoach.models.CVReview;
+import com.careercoach.models.CVReviewDashboardStats;
+import com.careercoach.models.CVReviewSummary;
+import com.careercoach.models.CVReviewUserSummary;
+import com.careercoach.repository.CVReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maintains the cv_review_summaries read model.
+ * New reviews, and completions that give a review its first score, are folded in with a single atomic
+ * update ($inc/$min/$max and capped $push). Changes that cannot be applied incrementally (deletes, a score
+ * changing after the fact) mark the summary stale instead; stale or missing summaries are rebuilt from
+ * cv_reviews on the next read, and a scheduled job rebuilds stale ones plus the least recently rebuilt to
+ * correct any drift. A write that finds no summary leaves a stale stub behind, and rebuilds only replace
+ * the version they started from, so a write racing a rebuild is never lost.
+ */
+@Component
+@Slf4j
+public class CVReviewSummaryStore {
+
+    public static final int RECENT_REVIEWS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final CVReviewRepository cvReviewRepository;
+    private final int trendPoints;
+    private final int reconcileBatch;
+
+    public CVReviewSummaryStore(MongoTemplate mongoTemplate,
+                                CVReviewRepository cvReviewRepository,
+                                @Value("${app.cv-reviews.summary.trend-points:50}") int trendPoints,
+                                @Value("${app.cv-reviews.summary.reconcile-batch:100}") int reconcileBatch) {
+        this.mongoTemplate = mongoTemplate;
+        this.cvReviewRepository = cvReviewRepository;
+        this.trendPoints = trendPoints;
+        this.reconcileBatch = reconcileBatch;
+    }
+
+    /**
+     * Summary for a user, rebuilt first when it is missing or stale
+     */
+    public CVReviewUserSummary get(String userId) {
+        CVReviewUserSummary summary = mongoTemplate.findById(userId, CVReviewUserSummary.class);
+        if (summary == null || summary.isStale()) {
+            return rebuild(userId, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Fold a newly inserted review into its owner's summary
+     */
+    public void recordCreated(CVReview review) {
+        Integer score = scoreOf(review);
+        CVReviewDashboardStats.ScorePoint point = pointOf(review);
+
+        Update update = new Update()
+                .inc("count", 1)
+                .inc("totalRecommendations", recommendationsOf(review))
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+        update.push("recent").sort(Sort.by(Sort.Direction.DESC, "date")).slice(RECENT_REVIEWS).each(point);
+
+        if ("COMPLETED".equals(review.getStatus())) {
+            update.inc("completedCount", 1);
+        }
+        if (score != null) {
+            update.inc("scoreSum", score)
+                    .inc("scoredCount", 1)
+                    .min("minScore", score)
+                    .max("maxScore", score);
+            update.push("trends").sort(Sort.by(Sort.Direction.ASC, "date")).slice(-trendPoints).each(point);
+        }
+
+        // Upsert: with no summary yet the stub is stale, so the next read rebuilds it with this review included
+        update.setOnInsert("stale", true);
+        mongoTemplate.upsert(byUser(review.getUserId()), update, CVReviewUserSummary.class);
+    }
+
+    /**
+     * Apply a PENDING to COMPLETED transition, given the score and recommendation count the review had
+     * while PENDING. A first score (the usual case) is folded in incrementally; a changed score falls back to a rebuild.
+     */
+    public void recordCompleted(CVReview completed, Integer previousScore, int previousRecommendations) {
+        Integer score = scoreOf(completed);
+        if (previousScore != null && !previousScore.equals(score)) {
+            markStale(completed.getUserId());
+            return;
+        }
+
+        Update update = new Update()
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+        if ("COMPLETED".equals(completed.getStatus())) {
+            update.inc("completedCount", 1);
+        }
+        int recommendationDelta = recommendationsOf(completed) - previousRecommendations;
+        if (recommendationDelta != 0) {
+            update.inc("totalRecommendations", recommendationDelta);
+        }
+        if (previousScore == null && score != null) {
+            update.inc("scoreSum", score)
+                    .inc("scoredCount", 1)
+                    .min("minScore", score)
+                    .max("maxScore", score);
+            update.push("trends").sort(Sort.by(Sort.Direction.ASC, "date")).slice(-trendPoints).each(pointOf(completed));
+            // The review is already in recent (unscored) if it is among the newest; give it its score there
+            update.set("recent.$[point].score", score)
+                    .filterArray(Criteria.where("point.reviewId").is(completed.getId()));
+        }
+
+        // Array filters need an existing recent list; without a summary, leave a stale stub for the next read to rebuild
+        Query withRecent = new Query(Criteria.where("_id").is(completed.getUserId()).and("recent").exists(true));
+        if (mongoTemplate.updateFirst(withRecent, update, CVReviewUserSummary.class).getMatchedCount() == 0) {
+            markStale(completed.getUserId());
+        }
+    }
+
+    /**
+     * Bump the version for a change that leaves the rollups as they are, such as a review failing analysis,
+     * so dashboards showing that review are recomputed
+     */
+    public void recordChanged(String userId) {
+        Update update = new Update()
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now())
+                .setOnInsert("stale", true);
+        mongoTemplate.upsert(byUser(userId), update, CVReviewUserSummary.class);
+    }
+
+    /**
+     * Current summary version, 0 when the user has none yet; the dashboard ETag is derived from it
+     */
+    public long currentVersion(String userId) {
+        Query query = byUser(userId);
+        query.fields().include("version");
+        CVReviewUserSummary summary = mongoTemplate.findOne(query, CVReviewUserSummary.class);
+        return summary != null ? summary.getVersion() : 0;
+    }
+
+    /**
+     * Flag a summary for rebuild; used when a change cannot be applied incrementally
+     */
+    public void markStale(String userId) {
+        Update update = new Update()
+                .set("stale", true)
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+        mongoTemplate.upsert(byUser(userId), update, CVReviewUserSummary.class);
+    }
+
+    /**
+     * Rebuild stale summaries first, then the least recently rebuilt ones
+     */
+    @Scheduled(fixedDelayString = "${app.cv-reviews.summary.reconcile-ms:600000}")
+    public void reconcile() {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "stale").and(Sort.by(Sort.Direction.ASC, "rebuiltAt")))
+                .limit(reconcileBatch);
+        query.fields().include("stale", "version");
+
+        int rebuilt = 0;
+        for (CVReviewUserSummary summary : mongoTemplate.find(query, CVReviewUserSummary.class)) {
+            try {
+                rebuild(summary.getUserId(), summary);
+                rebuilt++;
+            } catch (Exception e) {
+                log.error("Failed to rebuild CV review summary for user {}: {}", summary.getUserId(), e.getMessage());
+            }
+        }
+        if (rebuilt > 0) {
+            log.debug("Rebuilt {} CV review summaries", rebuilt);
+        }
+    }
+
+    /**
+     * Recompute a summary from cv_reviews and store it unless a write landed in the meantime
+     */
+    private CVReviewUserSummary rebuild(String userId, CVReviewUserSummary existing) {
+        CVReviewDashboardStats stats = cvReviewRepository.aggregateDashboard(userId);
+        CVReviewDashboardStats.Metrics rollup = stats.getMetrics().isEmpty() ? null : stats.getMetrics().get(0);
+        List<CVReviewDashboardStats.ScorePoint> scored = stats.getTrends();
+
+        long expectedVersion = existing != null ? existing.getVersion() : 0;
+        LocalDateTime now = LocalDateTime.now();
+
+        CVReviewUserSummary summary = CVReviewUserSummary.builder()
+                .userId(userId)
+                .count(rollup != null ? rollup.getTotal() : 0)
+                .completedCount(cvReviewRepository.countByUserIdAndStatus(userId, "COMPLETED"))
+                .scoreSum(scored.stream().mapToLong(CVReviewDashboardStats.ScorePoint::getScore).sum())
+                .scoredCount(scored.size())
+                .minScore(rollup != null ? rollup.getLowestScore() : null)
+                .maxScore(rollup != null ? rollup.getHighestScore() : null)
+                .totalRecommendations(rollup != null ? rollup.getTotalRecommendations() : 0)
+                .recent(stats.getRecent().stream().map(this::pointOf).toList())
+                .trends(scored.subList(Math.max(0, scored.size() - trendPoints), scored.size()))
+                .stale(false)
+                .version(expectedVersion + 1)
+                .rebuiltAt(now)
+                .updatedAt(now)
+                .build();
+
+        // Replace only the version the aggregate started from; with no stored summary (version 0) this inserts.
+        // Any write since then bumped the version, so the upsert collides on _id and the stored copy wins.
+        Query current = new Query(Criteria.where("_id").is(userId).and("version").is(expectedVersion));
+        try {
+            mongoTemplate.findAndReplace(current, summary, FindAndReplaceOptions.options().upsert());
+        } catch (DuplicateKeyException e) {
+            log.debug("CV review summary for user {} changed during rebuild, keeping the stored copy", userId);
+        }
+        return summary;
+    }
+
+    private Query byUser(String userId) {
+        return new Query(Criteria.where("_id").is(userId));
+    }
+
+    private CVReviewDashboardStats.ScorePoint pointOf(CVReview review) {
+        return new CVReviewDashboardStats.ScorePoint(review.getId(), review.getReviewDate(), scoreOf(review));
+    }
+
+    private CVReviewDashboardStats.ScorePoint pointOf(CVReviewSummary review) {
+        return new CVReviewDashboardStats.ScorePoint(review.getId(), review.getReviewDate(), review.getScore());
+    }
+
+    private Integer scoreOf(CVReview review) {
+        return review.getOverallMatch() != null ? review.getOverallMatch().getScore() : null;
+    }
+
+    private int recommendationsOf(CVReview review) {
+        return review.getRecommendations() != null ? review.getRecommendations().size() : 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.careercoach.service;
+
+import com.careercoach.models.CVAnalysisResult;
+
+/**
+ * Analyzes a CV against a job description.
+ * Implementations are selected with {@code app.analysis.analyzer}; any exception is treated as
+ * a failed attempt and retried by the analysis pipeline.
+ */
+public interface CvAnalyzer {
+
+    /**
+     * Identifies the analyzer and its model/prompt revision; results from different versions are not interchangeable
+     */
+    String version();
+
+    CVAnalysisResult analyze(String cvText, String jobDescription) throws Exception;
+}
@@ -0,0 +1,412 @@
+package com.careercoach.service;
+
+import com.careercoach.models.ExtractedCvText;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Extracts plain text from uploaded PDF, DOC and DOCX CVs.
+ * The upload is streamed to a temp file while its SHA-256 is computed, so the same file uploaded
+ * again is answered from an in-memory text cache without parsing. Parsing runs on a dedicated
+ * bounded pool and keeps memory bounded per format: PDFs are read page by page with a temp-file
+ * stream cache, DOCX bodies are read with a streaming XML parser straight from the zip entry
+ * (capped at a configured number of decompressed bytes), and extracted text is capped at a
+ * configured number of characters. Parsers stop when a timed-out extraction is cancelled.
+ */
+@Service
+@Slf4j
+public class CvTextExtractionService {
+
+    private static final String DOCX_BODY = "word/document.xml";
+    private static final String WORD_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private final int maxCharacters;
+    private final long maxDocxXmlBytes;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor extractionPool;
+    private final Cache<String, ExtractedCvText> textCache;
+    private final XMLInputFactory xmlInputFactory;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> formatTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> formatBytes = new ConcurrentHashMap<>();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public CvTextExtractionService(MeterRegistry meterRegistry,
+                                   @Value("${app.extraction.pool-size:2}") int poolSize,
+                                   @Value("${app.extraction.queue-capacity:16}") int queueCapacity,
+                                   @Value("${app.extraction.timeout-ms:20000}") long timeoutMillis,
+                                   @Value("${app.extraction.retry-after-seconds:5}") long retryAfterSeconds,
+                                   @Value("${app.extraction.max-characters:200000}") int maxCharacters,
+                                   @Value("${app.extraction.max-docx-xml-bytes:52428800}") long maxDocxXmlBytes,
+                                   @Value("${app.extraction.cache.max-characters:20000000}") long cacheMaxCharacters) {
+        this.meterRegistry = meterRegistry;
+        this.maxCharacters = maxCharacters;
+        this.maxDocxXmlBytes = maxDocxXmlBytes;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.extractionPool = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("cv-extract-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.textCache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxCharacters)
+                .weigher((String hash, ExtractedCvText extracted) -> extracted.getText().length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, textCache, "extractedCvText");
+
+        // DOCX XML is untrusted input: no DTDs, no external entities
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        this.cacheHits = Counter.builder("cv.extraction.cache")
+                .tag("result", "hit")
+                .description("Extraction requests answered from the text cache")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("cv.extraction.cache")
+                .tag("result", "miss")
+                .description("Extraction requests that parsed the file")
+                .register(meterRegistry);
+        meterRegistry.gauge("cv.extraction.queue.size", extractionPool, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * Extract the text of an uploaded CV.
+     *
+     * @throws IllegalArgumentException when the file is not a readable PDF, DOC or DOCX
+     * @throws RejectedExecutionException when the extraction pool is saturated; retry after {@link #getRetryAfterSeconds()}
+     * @throws TimeoutException when parsing the file takes longer than the configured timeout; retrying will not help
+     */
+    public ExtractedCvText extract(MultipartFile file) throws IOException, TimeoutException {
+        Path tempFile = Files.createTempFile("cv-extract-", ".tmp");
+        try {
+            String sha256 = copyAndHash(file, tempFile);
+            ExtractedCvText cached = textCache.getIfPresent(sha256);
+            if (cached != null) {
+                cacheHits.increment();
+                return cached.toBuilder().cached(true).build();
+            }
+            cacheMisses.increment();
+
+            String format = detectFormat(tempFile, file.getOriginalFilename());
+            long size = Files.size(tempFile);
+            ExtractedCvText extracted = runOnPool(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return parse(format, tempFile.toFile(), sha256);
+                } finally {
+                    timerFor(format).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    bytesFor(format).record(size);
+                }
+            });
+            textCache.put(sha256, extracted);
+            return extracted;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private ExtractedCvText runOnPool(Callable<ExtractedCvText> task) throws IOException, TimeoutException {
+        Future<ExtractedCvText> result = extractionPool.submit(task);
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new TimeoutException("CV text extraction timed out after " + timeoutMillis + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("CV text extraction failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new InterruptedIOException("CV text extraction interrupted");
+        }
+    }
+
+    private String copyAndHash(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+             OutputStream out = Files.newOutputStream(target)) {
+            in.transferTo(out);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Formats are told apart by magic bytes alone; any zip is read as DOCX and rejected if it has no
+    // Word body. The name only appears in the error for unsupported files.
+    private String detectFormat(Path file, String originalFilename) throws IOException {
+        byte[] header = new byte[8];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (read >= 4 && header[0] == '%' && header[1] == 'P' && header[2] == 'D' && header[3] == 'F') {
+            return "PDF";
+        }
+        if (read >= 4 && header[0] == 'P' && header[1] == 'K' && header[2] == 3 && header[3] == 4) {
+            return "DOCX";
+        }
+        if (read == 8 && (header[0] & 0xFF) == 0xD0 && (header[1] & 0xFF) == 0xCF
+                && (header[2] & 0xFF) == 0x11 && (header[3] & 0xFF) == 0xE0) {
+            return "DOC";
+        }
+        String name = originalFilename != null ? originalFilename.toLowerCase(Locale.ROOT) : "";
+        throw new IllegalArgumentException("Unsupported CV file " + name + ": only PDF, DOC and DOCX can be read");
+    }
+
+    private ExtractedCvText parse(String format, File file, String sha256) throws IOException {
+        TextCollector text = new TextCollector(maxCharacters);
+        switch (format) {
+            case "PDF" -> parsePdf(file, text);
+            case "DOCX" -> parseDocx(file, text);
+            case "DOC" -> parseDoc(file, text);
+            default -> throw new IllegalArgumentException("Unsupported format " + format);
+        }
+        return ExtractedCvText.builder()
+                .sha256(sha256)
+                .format(format)
+                .text(text.toString().trim())
+                .truncated(text.isFull())
+                .build();
+    }
+
+    private void parsePdf(File file, TextCollector text) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file, IOUtils.createTempFileOnlyStreamCache())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= document.getNumberOfPages() && !text.isFull(); page++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IOException("PDF extraction cancelled");
+                }
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(document));
+            }
+        }
+    }
+
+    private void parseDocx(File file, TextCollector text) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(file.toPath()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (DOCX_BODY.equals(entry.getName())) {
+                    readDocumentXml(new BoundedInputStream(zip, maxDocxXmlBytes), text);
+                    return;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Not a Word document: " + DOCX_BODY + " is missing");
+    }
+
+    // Text runs (w:t) in order, with paragraph and line breaks and tabs kept as whitespace
+    private void readDocumentXml(BoundedInputStream xml, TextCollector text) throws IOException {
+        try {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(xml);
+            try {
+                boolean inText = false;
+                while (reader.hasNext() && !text.isFull()) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new IOException("DOCX extraction cancelled");
+                    }
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                        switch (reader.getLocalName()) {
+                            case "t" -> inText = true;
+                            case "tab" -> text.append("\t");
+                            case "br", "cr" -> text.append("\n");
+                            default -> { }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                        switch (reader.getLocalName()) {
+                            case "t" -> inText = false;
+                            case "p" -> text.append("\n");
+                            default -> { }
+                        }
+                    } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                        text.append(reader.getText());
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            if (xml.isExhausted()) {
+                throw new IllegalArgumentException("Word document is too large to read");
+            }
+            throw new IllegalArgumentException("Unreadable Word document", e);
+        }
+    }
+
+    private void parseDoc(File file, TextCollector text) throws IOException {
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true);
+             WordExtractor extractor = new WordExtractor(fileSystem)) {
+            for (String paragraph : extractor.getParagraphText()) {
+                if (text.isFull()) {
+                    break;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IOException("DOC extraction cancelled");
+                }
+                text.append(paragraph);
+            }
+        }
+    }
+
+    private Timer timerFor(String format) {
+        return formatTimers.computeIfAbsent(format, key -> Timer.builder("cv.extraction")
+                .tag("format", key)
+                .description("Time to extract text from a CV file")
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary bytesFor(String format) {
+        return formatBytes.computeIfAbsent(format, key -> DistributionSummary.builder("cv.extraction.bytes")
+                .tag("format", key)
+                .baseUnit("bytes")
+                .description("Size of CV files parsed for text")
+                .register(meterRegistry));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        extractionPool.shutdownNow();
+    }
+
+    /**
+     * Input stream that fails once more than a byte limit has been read, so a small zip entry
+     * cannot inflate into an unbounded amount of XML
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private final long limit;
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                consume(read);
+            }
+            return read;
+        }
+
+        boolean isExhausted() {
+            return remaining < 0;
+        }
+
+        private void consume(int bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new IOException("More than " + limit + " bytes of document XML");
+            }
+        }
+    }
+
+    /**
+     * StringBuilder that stops accepting text at a character limit
+     */
+    private static final class TextCollector {
+        private final StringBuilder text = new StringBuilder();
+        private final int limit;
+
+        private TextCollector(int limit) {
+            this.limit = limit;
+        }
+
+        void append(String chunk) {
+            int room = limit - text.length();
+            if (room > 0) {
+                text.append(chunk, 0, Math.min(room, chunk.length()));
+            }
+        }
+
+        boolean isFull() {
+            return text.length() >= limit;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.careercoach.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Serialized CV review dashboard payloads, cached per user and tagged with the version of the user's
+ * persisted CVReviewUserSummary. Every summary write (review saves, completions, failures, deletes and
+ * reconcile rebuilds) bumps that version, so a cached payload or a client's ETag is only honoured while
+ * the stored summary is unchanged, and every instance derives the same ETag for the same data.
+ */
+@Component
+public class DashboardResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final CVReviewSummaryStore summaryStore;
+    private final Cache<String, CachedDashboard> payloads;
+
+    public DashboardResponseCache(ObjectMapper objectMapper,
+                                  CVReviewSummaryStore summaryStore,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.cv-reviews.dashboard-cache.max-bytes:33554432}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.summaryStore = summaryStore;
+        this.payloads = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String userId, CachedDashboard entry) -> entry.body().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, payloads, "dashboardResponses");
+    }
+
+    /**
+     * Strong ETag for the user's current dashboard version
+     */
+    public String currentETag(String userId) {
+        return etagOf(summaryStore.currentVersion(userId));
+    }
+
+    /**
+     * Cached payload for the current version, or a freshly computed and serialized one
+     */
+    public CachedDashboard get(String userId, Supplier<Map<String, Object>> compute) throws JsonProcessingException {
+        // Read the version before computing: a write that races the computation bumps it,
+        // so the payload stored below is never served as the newer version
+        long version = summaryStore.currentVersion(userId);
+        CachedDashboard cached = payloads.getIfPresent(userId);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(compute.get());
+        CachedDashboard entry = new CachedDashboard(version, etagOf(version), body);
+        payloads.asMap().merge(userId, entry, (old, fresh) -> fresh.version() >= old.version() ? fresh : old);
+        return entry;
+    }
+
+    /**
+     * Drop this node's payload early; call after the review write and its summary update have been persisted.
+     * Correctness does not depend on it: a payload is only served while its version is still the stored one.
+     */
+    public void invalidate(String userId) {
+        payloads.invalidate(userId);
+    }
+
+    private String etagOf(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public record CachedDashboard(long version, String etag, byte[] body) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.careercoach.service;
+
+import com.careercoach.models.CVReview;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Moves job descriptions embedded in existing cv_reviews documents into job_descriptions.
+ * Runs in the background at startup until it has once finished cleanly, which it records in the
+ * migrations collection; later startups only check that marker. New reviews are always saved interned,
+ * so nothing needs migrating afterwards. Each review is rewritten only if its embedded text is still
+ * the one that was interned, so it is safe to run alongside normal traffic and to rerun.
+ */
+@Service
+@Slf4j
+public class JobDescriptionMigration {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String MIGRATIONS_COLLECTION = "migrations";
+    private static final String MIGRATION_ID = "cv_reviews.jobDescriptionId";
+
+    private final MongoTemplate mongoTemplate;
+    private final JobDescriptionStore jobDescriptionStore;
+
+    public JobDescriptionMigration(MongoTemplate mongoTemplate, JobDescriptionStore jobDescriptionStore) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobDescriptionStore = jobDescriptionStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread worker = new Thread(this::migrate, "job-description-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void migrate() {
+        Query marker = new Query(Criteria.where("_id").is(MIGRATION_ID));
+        if (mongoTemplate.exists(marker, MIGRATIONS_COLLECTION)) {
+            return;
+        }
+
+        Query pending = new Query(Criteria.where("jobDescription").type(2).and("jobDescriptionId").exists(false));
+        pending.fields().include("jobDescription");
+        pending.cursorBatchSize(BATCH_SIZE);
+
+        String collection = mongoTemplate.getCollectionName(CVReview.class);
+        long migrated = 0;
+        try (Stream<Document> reviews = mongoTemplate.stream(pending, Document.class, collection)) {
+            Iterator<Document> cursor = reviews.iterator();
+            while (cursor.hasNext()) {
+                Document review = cursor.next();
+                String text = review.getString("jobDescription");
+                String jobDescriptionId = jobDescriptionStore.intern(text);
+
+                Query unchanged = new Query(Criteria.where("_id").is(review.get("_id")).and("jobDescription").is(text));
+                Update update = new Update().set("jobDescriptionId", jobDescriptionId).unset("jobDescription");
+                migrated += mongoTemplate.updateFirst(unchanged, update, collection).getModifiedCount();
+            }
+        } catch (Exception e) {
+            log.error("Job description migration stopped after {} reviews: {}", migrated, e.getMessage());
+            return;
+        }
+        if (migrated > 0) {
+            log.info("Moved job descriptions of {} CV reviews into job_descriptions", migrated);
+        }
+        mongoTemplate.upsert(marker, new Update()
+                .set("completedAt", new Date())
+                .set("migrated", migrated), MIGRATIONS_COLLECTION);
+    }
+}
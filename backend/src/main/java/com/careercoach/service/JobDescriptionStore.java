@@ -0,0 +1,84 @@
+package com.careercoach.service;
+
+import com.careercoach.models.JobDescription;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed store for job descriptions.
+ * Reviews keep only the SHA-256 of their job description; the text lives once in job_descriptions
+ * and is resolved through a bounded LRU cache when a detail view needs it. Entries are immutable,
+ * so the cache never needs invalidating. Job descriptions are not removed when reviews are deleted.
+ */
+@Component
+public class JobDescriptionStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, String> texts;
+
+    public JobDescriptionStore(MongoTemplate mongoTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.job-descriptions.cache.max-size:2000}") long cacheMaxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.texts = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, texts, "jobDescriptions");
+    }
+
+    /**
+     * Store the text if it is new and return its id
+     */
+    public String intern(String text) {
+        String id = hash(text);
+        if (texts.getIfPresent(id) != null) {
+            return id;
+        }
+
+        Update update = new Update()
+                .setOnInsert("text", text)
+                .setOnInsert("createdAt", LocalDateTime.now());
+        try {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(id)), update, JobDescription.class);
+        } catch (DuplicateKeyException e) {
+            // A concurrent upsert inserted the same content first
+        }
+        texts.put(id, text);
+        return id;
+    }
+
+    /**
+     * Text for an id, or null if it is unknown
+     */
+    public String resolve(String id) {
+        return texts.get(id, key -> {
+            JobDescription stored = mongoTemplate.findById(key, JobDescription.class);
+            return stored != null ? stored.getText() : null;
+        });
+    }
+
+    private String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.careercoach.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password authentication (BCrypt) on a dedicated, fixed-size pool with a bounded admission queue.
+ * Callers get a future, so the Tomcat request thread is released while a login waits for or runs on
+ * the pool; once the queue is full, callers are rejected immediately so the controller can answer 429.
+ */
+@Service
+@Slf4j
+public class LoginAuthenticationService {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor hashingPool;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer queuedTimer;
+    private final Timer hashingTimer;
+    private final Counter rejectedCounter;
+
+    public LoginAuthenticationService(AuthenticationManager authenticationManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.auth.login.pool-size:0}") int poolSize,
+                                      @Value("${app.auth.login.queue-capacity:64}") int queueCapacity,
+                                      @Value("${app.auth.login.timeout-ms:5000}") long timeoutMillis,
+                                      @Value("${app.auth.login.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.authenticationManager = authenticationManager;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // Hashing is CPU-bound, so default to one thread per core
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.hashingPool = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queuedTimer = Timer.builder("auth.login.stage")
+                .tag("stage", "queued")
+                .description("Time a login spent waiting for a hashing thread")
+                .register(meterRegistry);
+        this.hashingTimer = Timer.builder("auth.login.stage")
+                .tag("stage", "hashing")
+                .description("Time spent verifying the password")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.login.rejected")
+                .description("Logins refused because the admission queue was full or timed out")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.login.queue.size", hashingPool, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * Authenticate the credentials on the hashing pool without blocking the calling (request) thread.
+     * The future fails with {@link RejectedExecutionException} when the pipeline is saturated or the login
+     * waited longer than the timeout (retry after {@link #getRetryAfterSeconds()}), or with an
+     * {@link org.springframework.security.core.AuthenticationException} when the credentials are wrong.
+     */
+    public CompletableFuture<Authentication> authenticate(String email, String password) {
+        long submittedAt = System.nanoTime();
+        CompletableFuture<Authentication> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = hashingPool.submit(() -> {
+                long startedAt = System.nanoTime();
+                queuedTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(email, password)));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    hashingTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Login admission queue full, rejecting login");
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    if (error instanceof TimeoutException) {
+                        task.cancel(true);
+                        rejectedCounter.increment();
+                        throw new RejectedExecutionException("Login timed out waiting for the hashing pool");
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                });
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+}
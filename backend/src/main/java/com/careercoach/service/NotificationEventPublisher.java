@@ -8,7 +8,13 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Builds user-facing notifications for domain events. Publishing never blocks on Mongo:
+ * each method returns the future from the notification write queue, completed once the
+ * notification is stored and pushed (or failed if it was rejected).
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,7 +25,7 @@ public class NotificationEventPublisher {
     /**
      * Publish CV review completion notification
      */
-    public void publishCvReviewCompleted(String userId, String cvId, String reviewerName, String feedback) {
+    public CompletableFuture<Notification> publishCvReviewCompleted(String userId, String cvId, String reviewerName, String feedback) {
         try {
             System.out.println("DEBUG: NotificationEventPublisher.publishCvReviewCompleted called");
             System.out.println("DEBUG: userId=" + userId + ", cvId=" + cvId + ", reviewerName=" + reviewerName);
@@ -36,7 +42,7 @@ public class NotificationEventPublisher {
             );
 
             System.out.println("DEBUG: About to call notificationService.createNotification");
-            Notification notification = notificationService.createNotification(
+            CompletableFuture<Notification> notification = notificationService.createNotification(
                 userId,
                 NotificationType.CV_REVIEW_COMPLETE,
                 title,
@@ -47,20 +53,22 @@ public class NotificationEventPublisher {
                 null, // expiresAt - No expiry
                 metadata
             );
-            System.out.println("DEBUG: Notification created successfully with ID: " + (notification != null ? notification.getId() : "null"));
+            System.out.println("DEBUG: Notification queued for CV " + cvId);
 
             log.info("Published CV review completion notification for user {} and CV {}", userId, cvId);
+            return notification;
         } catch (Exception e) {
             System.out.println("ERROR: Failed to publish CV review completion notification: " + e.getMessage());
             e.printStackTrace();
             log.error("Failed to publish CV review completion notification: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     /**
      * Publish new message notification
      */
-    public void publishNewMessage(String userId, String senderId, String senderName, String messagePreview, String conversationId) {
+    public CompletableFuture<Notification> publishNewMessage(String userId, String senderId, String senderName, String messagePreview, String conversationId) {
         try {
             String title = "New Message";
             String message = String.format("You have a new message from %s", 
@@ -74,7 +82,7 @@ public class NotificationEventPublisher {
                 "conversationId", conversationId != null ? conversationId : ""
             );
 
-            notificationService.createNotification(
+            CompletableFuture<Notification> notification = notificationService.createNotification(
                 userId,
                 NotificationType.NEW_MESSAGE,
                 title,
@@ -87,15 +95,17 @@ public class NotificationEventPublisher {
             );
 
             log.info("Published new message notification for user {} from sender {}", userId, senderId);
+            return notification;
         } catch (Exception e) {
             log.error("Failed to publish new message notification: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     /**
      * Publish application status update notification
      */
-    public void publishApplicationStatusUpdate(String userId, String jobTitle, String companyName, String newStatus, String applicationId) {
+    public CompletableFuture<Notification> publishApplicationStatusUpdate(String userId, String jobTitle, String companyName, String newStatus, String applicationId) {
         try {
             String title = "Application Status Updated";
             String message = String.format("Your application for %s at %s has been %s", 
@@ -121,7 +131,7 @@ public class NotificationEventPublisher {
                 }
             }
 
-            notificationService.createNotification(
+            CompletableFuture<Notification> notification = notificationService.createNotification(
                 userId,
                 NotificationType.APPLICATION_STATUS_UPDATED,
                 title,
@@ -134,15 +144,17 @@ public class NotificationEventPublisher {
             );
 
             log.info("Published application status update notification for user {} and application {}", userId, applicationId);
+            return notification;
         } catch (Exception e) {
             log.error("Failed to publish application status update notification: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     /**
      * Publish profile update reminder notification
      */
-    public void publishProfileUpdateReminder(String userId) {
+    public CompletableFuture<Notification> publishProfileUpdateReminder(String userId) {
         try {
             String title = "Complete Your Profile";
             String message = "Your profile is incomplete. Complete it now to increase your chances of getting hired!";
@@ -152,7 +164,7 @@ public class NotificationEventPublisher {
                 "priority", "MEDIUM"
             );
 
-            notificationService.createNotification(
+            CompletableFuture<Notification> notification = notificationService.createNotification(
                 userId,
                 NotificationType.PROFILE_UPDATE_REMINDER,
                 title,
@@ -165,8 +177,10 @@ public class NotificationEventPublisher {
             );
 
             log.info("Published profile update reminder notification for user {}", userId);
+            return notification;
         } catch (Exception e) {
             log.error("Failed to publish profile update reminder notification: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
@@ -205,7 +219,7 @@ public class NotificationEventPublisher {
     /**
      * Publish skill assessment completion notification
      */
-    public void publishSkillAssessmentComplete(String userId, String skillName, int score, String assessmentId) {
+    public CompletableFuture<Notification> publishSkillAssessmentComplete(String userId, String skillName, int score, String assessmentId) {
         try {
             String title = "Skill Assessment Complete";
             String message = String.format("You scored %d%% on your %s assessment. Great job!", 
@@ -219,7 +233,7 @@ public class NotificationEventPublisher {
 
             String priority = score >= 80 ? "HIGH" : "MEDIUM";
 
-            notificationService.createNotification(
+            CompletableFuture<Notification> notification = notificationService.createNotification(
                 userId,
                 NotificationType.SKILL_ASSESSMENT_COMPLETE,
                 title,
@@ -232,15 +246,17 @@ public class NotificationEventPublisher {
             );
 
             log.info("Published skill assessment completion notification for user {} with score {}", userId, score);
+            return notification;
         } catch (Exception e) {
             log.error("Failed to publish skill assessment completion notification: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     /**
      * Publish system maintenance notification
      */
-    public void publishSystemMaintenance(String userId, String maintenanceTitle, String maintenanceMessage, LocalDateTime scheduledTime) {
+    public CompletableFuture<Notification> publishSystemMaintenance(String userId, String maintenanceTitle, String maintenanceMessage, LocalDateTime scheduledTime) {
         try {
             String title = maintenanceTitle != null ? maintenanceTitle : "System Maintenance";
             String message = maintenanceMessage != null ? maintenanceMessage : 
@@ -251,7 +267,7 @@ public class NotificationEventPublisher {
                 "scheduledTime", scheduledTime != null ? scheduledTime.toString() : ""
             );
 
-            notificationService.createNotification(
+            CompletableFuture<Notification> notification = notificationService.createNotification(
                 userId,
                 NotificationType.SYSTEM_MAINTENANCE,
                 title,
@@ -264,15 +280,17 @@ public class NotificationEventPublisher {
             );
 
             log.info("Published system maintenance notification for user {}", userId);
+            return notification;
         } catch (Exception e) {
             log.error("Failed to publish system maintenance notification: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     /**
      * Publish account security alert notification
      */
-    public void publishSecurityAlert(String userId, String alertType, String alertMessage) {
+    public CompletableFuture<Notification> publishSecurityAlert(String userId, String alertType, String alertMessage) {
         try {
             String title = "Security Alert";
             String message = alertMessage != null ? alertMessage : 
@@ -283,7 +301,7 @@ public class NotificationEventPublisher {
                 "timestamp", LocalDateTime.now().toString()
             );
 
-            notificationService.createNotification(
+            CompletableFuture<Notification> notification = notificationService.createNotification(
                 userId,
                 NotificationType.SECURITY_ALERT,
                 title,
@@ -296,22 +314,24 @@ public class NotificationEventPublisher {
             );
 
             log.info("Published security alert notification for user {} with type {}", userId, alertType);
+            return notification;
         } catch (Exception e) {
             log.error("Failed to publish security alert notification: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     /**
      * Publish general system notification
      */
-    public void publishSystemNotification(String userId, String title, String message, String priority, String actionUrl) {
+    public CompletableFuture<Notification> publishSystemNotification(String userId, String title, String message, String priority, String actionUrl) {
         try {
             Map<String, Object> metadata = Map.of(
                 "notificationType", "SYSTEM_NOTIFICATION",
                 "timestamp", LocalDateTime.now().toString()
             );
 
-            notificationService.createNotification(
+            CompletableFuture<Notification> notification = notificationService.createNotification(
                 userId,
                 NotificationType.SYSTEM_NOTIFICATION,
                 title != null ? title : "System Notification",
@@ -324,8 +344,10 @@ public class NotificationEventPublisher {
             );
 
             log.info("Published system notification for user {}", userId);
+            return notification;
         } catch (Exception e) {
             log.error("Failed to publish system notification: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.careercoach.service;
+
+import com.careercoach.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notification retention is enforced by the TTL index on purgeAt (see MongoIndexManager).
+ * This service backfills purgeAt on documents written before the field existed and
+ * samples the server's TTL monitor counters so purged-document counts show up as metrics.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    private final NotificationRepository notificationRepository;
+    private final MongoTemplate mongoTemplate;
+    private final long retentionDays;
+
+    private final AtomicLong ttlDeletedDocuments = new AtomicLong();
+    private final AtomicLong ttlPasses = new AtomicLong();
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        MongoTemplate mongoTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.notifications.retention-days:30}") long retentionDays) {
+        this.notificationRepository = notificationRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.retentionDays = retentionDays;
+        meterRegistry.gauge("mongo.ttl.deleted.documents", ttlDeletedDocuments);
+        meterRegistry.gauge("mongo.ttl.passes", ttlPasses);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPurgeDates() {
+        try {
+            long updated = notificationRepository.backfillPurgeAt(Duration.ofDays(retentionDays));
+            if (updated > 0) {
+                log.info("Backfilled purgeAt on {} notifications", updated);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill notification purge dates: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sample metrics.ttl from serverStatus. The counters are server-wide (all TTL collections)
+     * and reset when the server restarts; they need the serverStatus privilege.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.ttl-metrics-ms:60000}")
+    public void sampleTtlMetrics() {
+        try {
+            Document status = mongoTemplate.executeCommand(new Document("serverStatus", 1));
+            Document metrics = status.get("metrics", Document.class);
+            Document ttl = metrics != null ? metrics.get("ttl", Document.class) : null;
+            if (ttl != null) {
+                ttlDeletedDocuments.set(ttl.get("deletedDocuments", Number.class).longValue());
+                ttlPasses.set(ttl.get("passes", Number.class).longValue());
+            }
+        } catch (Exception e) {
+            log.debug("TTL metrics unavailable: {}", e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.careercoach.service;
 
+import com.careercoach.models.CursorPage;
 import com.careercoach.models.Notification;
 import com.careercoach.models.NotificationStatus;
 import com.careercoach.models.NotificationType;
 import com.careercoach.repository.NotificationRepository;
+import com.careercoach.utility.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
@@ -16,19 +16,29 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    // Upper bound on ids per batch status update, shared by the REST and STOMP endpoints
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final UnreadCountStore unreadCountStore;
+    private final NotificationWriteQueue notificationWriteQueue;
+
+    @Value("${app.notifications.retention-days:30}")
+    private long retentionDays;
 
     /**
-     * Create and send a new notification
+     * Create and send a new notification; the future completes once it is stored and pushed
      */
-    public Notification createNotification(String userId, NotificationType type, String title, 
+    public CompletableFuture<Notification> createNotification(String userId, NotificationType type, String title, 
                                          String message, String priority, Map<String, Object> metadata) {
         Notification notification = Notification.builder()
                 .userId(userId)
@@ -39,19 +49,13 @@ public class NotificationService {
                 .metadata(metadata)
                 .build();
 
-        notification = notificationRepository.save(notification);
-        
-        // Send real-time notification via WebSocket
-        sendRealTimeNotification(userId, notification);
-        
-        log.info("Created notification for user {}: {}", userId, title);
-        return notification;
+        return enqueue(notification);
     }
 
     /**
      * Create notification with additional parameters
      */
-    public Notification createNotification(String userId, NotificationType type, String title, 
+    public CompletableFuture<Notification> createNotification(String userId, NotificationType type, String title, 
                                          String message, String priority, String relatedEntityId, 
                                          String actionUrl, LocalDateTime expiresAt, Map<String, Object> metadata) {
         Notification notification = Notification.builder()
@@ -66,28 +70,56 @@ public class NotificationService {
                 .metadata(metadata)
                 .build();
 
-        notification = notificationRepository.save(notification);
-        
-        // Send real-time notification via WebSocket
-        sendRealTimeNotification(userId, notification);
-        
-        log.info("Created notification for user {}: {}", userId, title);
-        return notification;
+        return enqueue(notification);
     }
 
     /**
-     * Get all notifications for a user with pagination
+     * Hand the notification to the write queue; counters and WebSocket delivery follow persistence
+     * on the queue's delivery threads, never on the writer or the publisher
      */
-    public Page<Notification> getUserNotifications(String userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    private CompletableFuture<Notification> enqueue(Notification notification) {
+        notification.setPurgeAt(computePurgeAt(notification));
+        String userId = notification.getUserId();
+        return notificationWriteQueue.submit(notification)
+                .thenApplyAsync(saved -> {
+                    unreadCountStore.increment(userId);
+                    
+                    // Send real-time notification via WebSocket
+                    sendRealTimeNotification(userId, saved);
+                    
+                    log.info("Created notification for user {}: {}", userId, saved.getTitle());
+                    return saved;
+                }, notificationWriteQueue.getDeliveryExecutor())
+                .whenComplete((saved, error) -> {
+                    if (error != null) {
+                        log.error("Failed to create notification for user {}: {}", userId, error.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Get one page of a user's notifications, newest first; the cursor comes from the previous page
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<Notification> getNotificationFeed(String userId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // One row past the page tells whether another page exists without counting
+        List<Notification> rows = notificationRepository.findFeedPage(userId, after, limit + 1);
+
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<Notification> page = rows.subList(0, limit);
+        Notification last = page.get(limit - 1);
+        return new CursorPage<>(page, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
     /**
-     * Get all notifications for a user
+     * Stream all of a user's notifications, newest first, for export; the caller closes the stream
      */
-    public List<Notification> getUserNotifications(String userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public Stream<Notification> streamUserNotifications(String userId) {
+        return notificationRepository.streamForUser(userId);
     }
 
     /**
@@ -98,111 +130,131 @@ public class NotificationService {
     }
 
     /**
-     * Get unread notification count
+     * Get unread notification count (served from the in-memory counter store)
      */
     public long getUnreadNotificationCount(String userId) {
-        return notificationRepository.countByUserIdAndStatus(userId, NotificationStatus.UNREAD);
+        return unreadCountStore.get(userId);
     }
 
     /**
      * Mark notification as read
+     *
+     * @return the updated notification, or empty if it doesn't exist or belongs to someone else
      */
-    public boolean markAsRead(String notificationId, String userId) {
-        Optional<Notification> optionalNotification = notificationRepository.findById(notificationId);
+    public Optional<Notification> markAsRead(String notificationId, String userId) {
+        Optional<Notification> updated = transitionStatus(notificationId, userId, NotificationStatus.READ);
         
-        if (optionalNotification.isPresent()) {
-            Notification notification = optionalNotification.get();
-            
-            // Verify the notification belongs to the user
-            if (!notification.getUserId().equals(userId)) {
-                log.warn("User {} attempted to mark notification {} that doesn't belong to them", userId, notificationId);
-                return false;
-            }
-            
-            notification.markAsRead();
-            notificationRepository.save(notification);
-            
+        if (updated.isPresent()) {
             // Send real-time update
-            sendNotificationUpdate(userId, notification);
-            
+            sendNotificationUpdate(userId, updated.get());
             log.info("Marked notification {} as read for user {}", notificationId, userId);
-            return true;
+        } else {
+            log.warn("User {} attempted to mark notification {} that doesn't exist or doesn't belong to them", userId, notificationId);
         }
         
-        return false;
+        return updated;
     }
 
     /**
      * Mark notification as dismissed
+     *
+     * @return the updated notification, or empty if it doesn't exist or belongs to someone else
      */
-    public boolean markAsDismissed(String notificationId, String userId) {
-        Optional<Notification> optionalNotification = notificationRepository.findById(notificationId);
+    public Optional<Notification> markAsDismissed(String notificationId, String userId) {
+        Optional<Notification> updated = transitionStatus(notificationId, userId, NotificationStatus.DISMISSED);
         
-        if (optionalNotification.isPresent()) {
-            Notification notification = optionalNotification.get();
-            
-            // Verify the notification belongs to the user
-            if (!notification.getUserId().equals(userId)) {
-                log.warn("User {} attempted to dismiss notification {} that doesn't belong to them", userId, notificationId);
-                return false;
-            }
-            
-            notification.markAsDismissed();
-            notificationRepository.save(notification);
-            
+        if (updated.isPresent()) {
             // Send real-time update
-            sendNotificationUpdate(userId, notification);
-            
+            sendNotificationUpdate(userId, updated.get());
             log.info("Marked notification {} as dismissed for user {}", notificationId, userId);
-            return true;
+        } else {
+            log.warn("User {} attempted to dismiss notification {} that doesn't exist or doesn't belong to them", userId, notificationId);
         }
         
-        return false;
+        return updated;
     }
 
     /**
-     * Mark all notifications as read for a user
+     * Atomic status change matched on id and owner.
+     * The common case (an unread notification) is one round trip; the second, unconditional attempt
+     * only runs when the first didn't match, and tells an already-read notification apart from a foreign one.
      */
-    public void markAllAsRead(String userId) {
-        List<Notification> unreadNotifications = getUnreadNotifications(userId);
+    private Optional<Notification> transitionStatus(String notificationId, String userId, NotificationStatus status) {
+        LocalDateTime now = LocalDateTime.now();
         
-        for (Notification notification : unreadNotifications) {
-            notification.markAsRead();
+        Notification updated = notificationRepository.findAndUpdateStatus(
+            notificationId, userId, NotificationStatus.UNREAD, status, now);
+        if (updated != null) {
+            unreadCountStore.decrement(userId);
+            return Optional.of(updated);
         }
         
-        notificationRepository.saveAll(unreadNotifications);
+        return Optional.ofNullable(notificationRepository.findAndUpdateStatus(
+            notificationId, userId, null, status, now));
+    }
+
+    /**
+     * Mark all notifications as read for a user with a single server-side update
+     *
+     * @return the number of notifications that changed
+     */
+    public long markAllAsRead(String userId) {
+        long modified = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        unreadCountStore.invalidate(userId);
         
         // Send bulk update notification
         sendBulkNotificationUpdate(userId, "ALL_READ");
         
-        log.info("Marked {} notifications as read for user {}", unreadNotifications.size(), userId);
+        log.info("Marked {} notifications as read for user {}", modified, userId);
+        return modified;
+    }
+
+    /**
+     * Mark an explicit list of notifications as READ or DISMISSED in one round trip.
+     * Ids that don't belong to the user are ignored.
+     *
+     * @return the number of notifications that changed
+     */
+    public long updateNotificationsStatus(String userId, List<String> notificationIds, NotificationStatus status) {
+        if (status != NotificationStatus.READ && status != NotificationStatus.DISMISSED) {
+            throw new IllegalArgumentException("Batch updates only support READ or DISMISSED");
+        }
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        if (notificationIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " notifications per batch");
+        }
+
+        long modified = notificationRepository.updateStatusForIds(userId, notificationIds, status, LocalDateTime.now());
+        unreadCountStore.invalidate(userId);
+
+        sendBatchNotificationUpdate(userId, status, notificationIds, modified);
+
+        log.info("Batch marked {} of {} notifications as {} for user {}", modified, notificationIds.size(), status, userId);
+        return modified;
     }
 
     /**
      * Delete a notification
      */
     public boolean deleteNotification(String notificationId, String userId) {
-        Optional<Notification> optionalNotification = notificationRepository.findById(notificationId);
+        Notification removed = notificationRepository.findAndDeleteForUser(notificationId, userId);
         
-        if (optionalNotification.isPresent()) {
-            Notification notification = optionalNotification.get();
-            
-            // Verify the notification belongs to the user
-            if (!notification.getUserId().equals(userId)) {
-                log.warn("User {} attempted to delete notification {} that doesn't belong to them", userId, notificationId);
-                return false;
-            }
-            
-            notificationRepository.delete(notification);
-            
-            // Send real-time update
-            sendNotificationDeletion(userId, notificationId);
-            
-            log.info("Deleted notification {} for user {}", notificationId, userId);
-            return true;
+        if (removed == null) {
+            log.warn("User {} attempted to delete notification {} that doesn't exist or doesn't belong to them", userId, notificationId);
+            return false;
+        }
+        
+        if (removed.isUnread()) {
+            unreadCountStore.decrement(userId);
         }
         
-        return false;
+        // Send real-time update
+        sendNotificationDeletion(userId, notificationId);
+        
+        log.info("Deleted notification {} for user {}", notificationId, userId);
+        return true;
     }
 
     /**
@@ -228,12 +280,13 @@ public class NotificationService {
     }
 
     /**
-     * Cleanup old notifications (older than 30 days)
+     * Purge date enforced by the TTL index on purgeAt
      */
-    public void cleanupOldNotifications() {
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        notificationRepository.deleteByCreatedAtBefore(thirtyDaysAgo);
-        log.info("Cleaned up notifications older than 30 days");
+    private LocalDateTime computePurgeAt(Notification notification) {
+        if (notification.getExpiresAt() != null) {
+            return notification.getExpiresAt();
+        }
+        return notification.getCreatedAt().plusDays(retentionDays);
     }
 
     /**
@@ -288,6 +341,29 @@ public class NotificationService {
         }
     }
 
+    /**
+     * Send batch status update
+     */
+    private void sendBatchNotificationUpdate(String userId, NotificationStatus status,
+                                             List<String> notificationIds, long modified) {
+        try {
+            Map<String, Object> update = Map.of(
+                "action", status == NotificationStatus.READ ? "BATCH_READ" : "BATCH_DISMISSED",
+                "notificationIds", notificationIds,
+                "modifiedCount", modified,
+                "timestamp", LocalDateTime.now()
+            );
+            messagingTemplate.convertAndSendToUser(
+                userId, 
+                "/queue/notification-updates", 
+                update
+            );
+            log.debug("Sent batch notification update to user {}", userId);
+        } catch (Exception e) {
+            log.error("Failed to send batch notification update to user {}: {}", userId, e.getMessage());
+        }
+    }
+
     /**
      * Send notification deletion update
      */
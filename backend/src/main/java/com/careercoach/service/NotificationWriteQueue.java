@@ -0,0 +1,273 @@
+package com.careercoach.service;
+
+import com.careercoach.models.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists new notifications off the caller's thread.
+ * Notifications go into a bounded in-memory queue; one writer thread drains it into insertMany
+ * batches, closing a batch when it reaches batch-size or when its oldest entry has waited max-wait-ms.
+ * Each caller gets a future that completes once its document is stored, so anything chained on it
+ * (unread counters, WebSocket delivery) happens after persistence; chain it on {@link #getDeliveryExecutor()}
+ * so the writer thread only inserts. Ids are assigned at submit time,
+ * which makes re-inserting a partly written batch safe. When the queue is full the overflow policy
+ * decides: BLOCK waits up to block-timeout-ms, DROP rejects at once, CALLER_RUNS inserts on the caller's
+ * thread. The writer starts once the bean is initialized. On shutdown intake stops, whatever is queued
+ * is flushed before the writer exits, and then pending deliveries are given the remaining time to finish.
+ */
+@Service
+@Slf4j
+public class NotificationWriteQueue {
+
+    public enum OverflowPolicy { BLOCK, DROP, CALLER_RUNS }
+
+    private final MongoTemplate mongoTemplate;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+
+    private volatile boolean accepting = true;
+    private final Thread writer;
+    private final ThreadPoolExecutor deliveryExecutor;
+
+    private final Timer lagTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+
+    public NotificationWriteQueue(MongoTemplate mongoTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.notifications.write-queue.capacity:10000}") int capacity,
+                                  @Value("${app.notifications.write-queue.batch-size:200}") int batchSize,
+                                  @Value("${app.notifications.write-queue.max-wait-ms:50}") long maxWaitMillis,
+                                  @Value("${app.notifications.write-queue.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                                  @Value("${app.notifications.write-queue.block-timeout-ms:1000}") long blockTimeoutMillis,
+                                  @Value("${app.notifications.write-queue.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis,
+                                  @Value("${app.notifications.delivery.threads:2}") int deliveryThreads) {
+        this.mongoTemplate = mongoTemplate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        this.lagTimer = Timer.builder("notifications.write.lag")
+                .description("Time from submitting a notification until it is stored")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("notifications.write.batch.size")
+                .description("Notifications stored per insertMany")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("notifications.write.rejected")
+                .description("Notifications refused because the write queue was full or stopped")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.write.failed")
+                .description("Notifications that could not be stored")
+                .register(meterRegistry);
+        meterRegistry.gauge("notifications.write.queue.depth", queue, BlockingQueue::size);
+
+        // Bounded like the write queue; when deliveries back up the writer runs them itself,
+        // which slows intake and lets the overflow policy push back on publishers
+        this.deliveryExecutor = new ThreadPoolExecutor(
+                deliveryThreads, deliveryThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                new CustomizableThreadFactory("notification-delivery-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        meterRegistry.gauge("notifications.delivery.queue.depth", deliveryExecutor, pool -> pool.getQueue().size());
+
+        this.writer = new Thread(this::writeLoop, "notification-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+        log.info("Notification write queue started (capacity {}, batch {}, overflow {})", queue.remainingCapacity(), batchSize, overflowPolicy);
+    }
+
+    /**
+     * Queue a new notification for insertion; the future completes with the stored document.
+     * It fails with {@link RejectedExecutionException} when the queue is full (per the overflow policy) or stopped.
+     */
+    public CompletableFuture<Notification> submit(Notification notification) {
+        if (notification.getId() == null) {
+            notification.setId(new ObjectId().toHexString());
+        }
+        PendingWrite write = new PendingWrite(notification);
+        if (!accepting) {
+            return reject(write, "Notification write queue is shut down");
+        }
+        if (queue.offer(write)) {
+            return write.future;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(write, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        return write.future;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return reject(write, "Notification write queue is full");
+            }
+            case CALLER_RUNS -> {
+                store(List.of(write));
+                return write.future;
+            }
+            default -> {
+                return reject(write, "Notification write queue is full");
+            }
+        }
+    }
+
+    /**
+     * Executor for work chained on {@link #submit} futures, so it never runs on the writer thread
+     */
+    public Executor getDeliveryExecutor() {
+        return deliveryExecutor;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private CompletableFuture<Notification> reject(PendingWrite write, String reason) {
+        rejectedCounter.increment();
+        write.future.completeExceptionally(new RejectedExecutionException(reason));
+        return write.future;
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Fill the batch until it is full or the oldest entry has waited long enough
+                long deadline = first.enqueuedAtNanos + maxWaitNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !accepting) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                store(batch);
+            } catch (InterruptedException e) {
+                // Not expected; stop intake, store the batch in hand and loop around to flush the rest
+                accepting = false;
+                store(batch);
+            } catch (Exception e) {
+                log.error("Notification writer error: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        log.info("Notification writer stopped");
+    }
+
+    // One insertMany; if it fails, fall back to single inserts so one bad document doesn't fail the rest
+    private void store(List<PendingWrite> batch) {
+        List<Notification> documents = batch.stream().map(write -> write.notification).toList();
+        try {
+            mongoTemplate.insert(documents, Notification.class);
+            batchSizeSummary.record(batch.size());
+            batch.forEach(this::complete);
+        } catch (Exception e) {
+            log.warn("Batch insert of {} notifications failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingWrite write : batch) {
+                storeOne(write);
+            }
+        }
+    }
+
+    private void storeOne(PendingWrite write) {
+        try {
+            mongoTemplate.insert(write.notification);
+            batchSizeSummary.record(1);
+            complete(write);
+        } catch (DuplicateKeyException e) {
+            // Stored by the failed batch before it broke off
+            complete(write);
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("Failed to store notification for user {}: {}", write.notification.getUserId(), e.getMessage());
+            write.future.completeExceptionally(e);
+        }
+    }
+
+    private void complete(PendingWrite write) {
+        lagTimer.record(System.nanoTime() - write.enqueuedAtNanos, TimeUnit.NANOSECONDS);
+        write.future.complete(write.notification);
+    }
+
+    /**
+     * Stop taking new notifications, wait for the writer to flush the queue, then for deliveries to drain
+     */
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        try {
+            writer.join(shutdownTimeoutMillis);
+            deliveryExecutor.shutdown();
+            if (!deliveryExecutor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Notification deliveries did not finish within {} ms; {} not delivered",
+                        shutdownTimeoutMillis, deliveryExecutor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Notification writer did not finish within {} ms; {} notifications not stored",
+                    shutdownTimeoutMillis, queue.size());
+        }
+        deliveryExecutor.shutdownNow();
+    }
+
+    private static final class PendingWrite {
+        private final Notification notification;
+        private final CompletableFuture<Notification> future = new CompletableFuture<>();
+        private final long enqueuedAtNanos = System.nanoTime();
+
+        private PendingWrite(Notification notification) {
+            this.notification = notification;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.careercoach.service;
+
+import com.careercoach.models.CVReview;
+import com.careercoach.utility.SkillMatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+/**
+ * Local skill extraction and baseline scoring, used to give every review an instant
+ * preliminary result while the full analysis runs.
+ */
+@Service
+@Slf4j
+public class SkillMatchService {
+
+    private final SkillMatcher matcher;
+
+    public SkillMatchService(@Value("${app.analysis.skills-dictionary:classpath:skills-dictionary.txt}") Resource dictionary)
+            throws IOException {
+        this.matcher = SkillMatcher.compile(SkillMatcher.readDictionary(dictionary.getInputStream()));
+        log.info("Loaded skill dictionary with {} skills", matcher.size());
+    }
+
+    /**
+     * Skills found in a text, as matcher ids; lets callers extract a CV once and score it many times
+     */
+    public BitSet extractSkills(String text) {
+        return matcher.match(text);
+    }
+
+    /**
+     * Overlap between the job description's skills and the CV's skills
+     */
+    public CVReview.PreliminaryScore preScore(String cvText, String jobDescription) {
+        return preScore(extractSkills(cvText), extractSkills(jobDescription));
+    }
+
+    public CVReview.PreliminaryScore preScore(BitSet cvSkills, BitSet jobSkills) {
+        BitSet matched = (BitSet) jobSkills.clone();
+        matched.and(cvSkills);
+        BitSet missing = (BitSet) jobSkills.clone();
+        missing.andNot(cvSkills);
+
+        int required = jobSkills.cardinality();
+        Integer score = required > 0 ? Math.round(100f * matched.cardinality() / required) : null;
+
+        return CVReview.PreliminaryScore.builder()
+                .score(score)
+                .matchedSkills(matcher.names(matched))
+                .missingSkills(matcher.names(missing))
+                .computedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.careercoach.service;
+
+import com.careercoach.models.CVAnalysisResult;
+import com.careercoach.models.CVReview;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic in-process analyzer used for tests and local development.
+ * Scores the share of job description keywords that also appear in the CV.
+ * Only active when {@code app.analysis.analyzer=stub} is set explicitly (the test profile does).
+ */
+@Component
+@ConditionalOnProperty(name = "app.analysis.analyzer", havingValue = "stub")
+public class StubCvAnalyzer implements CvAnalyzer {
+
+    private static final int MAX_KEYWORDS = 30;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "about", "also", "and", "are", "been", "being", "from", "have", "into", "must", "our", "should",
+            "that", "their", "them", "then", "there", "these", "they", "this", "will", "with", "within",
+            "work", "working", "years", "your", "you'll", "we're");
+
+    @Override
+    public String version() {
+        return "stub-1";
+    }
+
+    @Override
+    public CVAnalysisResult analyze(String cvText, String jobDescription) {
+        Set<String> cvWords = words(cvText);
+        List<String> keywords = words(jobDescription).stream()
+                .filter(word -> word.length() >= 4 && !STOP_WORDS.contains(word))
+                .limit(MAX_KEYWORDS)
+                .collect(Collectors.toList());
+
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String keyword : keywords) {
+            (cvWords.contains(keyword) ? matched : missing).add(keyword);
+        }
+        int score = keywords.isEmpty() ? 0 : Math.round(100f * matched.size() / keywords.size());
+
+        return CVAnalysisResult.builder()
+                .overallMatch(CVReview.OverallMatch.builder()
+                        .score(score)
+                        .summary(String.format("Your CV covers %d of %d key terms from the job description.",
+                                matched.size(), keywords.size()))
+                        .build())
+                .strengths(matched.stream().limit(5).map(word -> "Mentions " + word).collect(Collectors.toList()))
+                .weaknesses(missing.stream().limit(5).map(word -> "No evidence of " + word).collect(Collectors.toList()))
+                .missingSkills(missing.stream().limit(10).collect(Collectors.toList()))
+                .recommendations(missing.stream().limit(3)
+                        .map(word -> CVReview.Recommendation.builder()
+                                .category("Skills")
+                                .suggestion("Add concrete experience with " + word)
+                                .priority("high")
+                                .build())
+                        .collect(Collectors.toList()))
+                .keywordOptimization(CVReview.KeywordOptimization.builder()
+                        .missingKeywords(missing)
+                        .suggestions(missing.isEmpty() ? "Keyword coverage looks complete." : "Work the missing keywords into your experience section.")
+                        .build())
+                .suitability(CVReview.Suitability.builder()
+                        .verdict(verdict(score))
+                        .reasoning("Based on keyword coverage of the job description.")
+                        .build())
+                .build();
+    }
+
+    private String verdict(int score) {
+        if (score >= 80) {
+            return "Highly Suitable";
+        } else if (score >= 60) {
+            return "Suitable";
+        } else if (score >= 40) {
+            return "Needs Improvement";
+        }
+        return "Not Suitable";
+    }
+
+    private Set<String> words(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#'.-]+"))
+                .map(word -> word.replaceAll("^[.'-]+|[.'-]+$", ""))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -1,9 +1,8 @@
 package com.careercoach.service;
 
+import com.careercoach.models.AuthenticatedUser;
 import com.careercoach.models.SuccessStory;
-import com.careercoach.models.User;
 import com.careercoach.repository.SuccessStoryRepository;
-import com.careercoach.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,22 +20,11 @@ public class SuccessStoryService {
     @Autowired
     private SuccessStoryRepository successStoryRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
-    public SuccessStory createStory(SuccessStory story, String userEmail) {
-        // Find the user by email
-        Optional<User> userOptional = userRepository.findByEmail(userEmail);
-        if (userOptional.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
-
-        User user = userOptional.get();
-        
-        // Set author information
-        story.setAuthorId(user.getId());
-        story.setAuthorName(user.getName());
-        story.setAuthorAvatar(user.getProfilePicture());
+    public SuccessStory createStory(SuccessStory story, AuthenticatedUser author) {
+        // Set author information from the authenticated principal
+        story.setAuthorId(author.getId());
+        story.setAuthorName(author.getName());
+        story.setAuthorAvatar(author.getProfilePicture());
         
         // Set timestamps
         LocalDateTime now = LocalDateTime.now();
@@ -65,19 +53,15 @@ public class SuccessStoryService {
         return successStoryRepository.findAllByOrderByLikesCountDesc(pageable);
     }
 
-    public List<SuccessStory> getStoriesByUser(String userEmail) {
-        Optional<User> userOptional = userRepository.findByEmail(userEmail);
-        if (userOptional.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
-        return successStoryRepository.findByAuthorIdOrderByCreatedAtDesc(userOptional.get().getId());
+    public List<SuccessStory> getStoriesByUser(String userId) {
+        return successStoryRepository.findByAuthorIdOrderByCreatedAtDesc(userId);
     }
 
     public Optional<SuccessStory> getStoryById(String id) {
         return successStoryRepository.findById(id);
     }
 
-    public SuccessStory updateStory(String id, SuccessStory updatedStory, String userEmail) {
+    public SuccessStory updateStory(String id, SuccessStory updatedStory, String userId) {
         Optional<SuccessStory> existingStoryOptional = successStoryRepository.findById(id);
         if (existingStoryOptional.isEmpty()) {
             throw new RuntimeException("Story not found");
@@ -86,8 +70,7 @@ public class SuccessStoryService {
         SuccessStory existingStory = existingStoryOptional.get();
         
         // Verify the user is the author
-        Optional<User> userOptional = userRepository.findByEmail(userEmail);
-        if (userOptional.isEmpty() || !existingStory.getAuthorId().equals(userOptional.get().getId())) {
+        if (!existingStory.getAuthorId().equals(userId)) {
             throw new RuntimeException("Unauthorized to update this story");
         }
 
@@ -102,7 +85,7 @@ public class SuccessStoryService {
         return successStoryRepository.save(existingStory);
     }
 
-    public void deleteStory(String id, String userEmail) {
+    public void deleteStory(String id, String userId) {
         Optional<SuccessStory> storyOptional = successStoryRepository.findById(id);
         if (storyOptional.isEmpty()) {
             throw new RuntimeException("Story not found");
@@ -111,27 +94,20 @@ public class SuccessStoryService {
         SuccessStory story = storyOptional.get();
         
         // Verify the user is the author
-        Optional<User> userOptional = userRepository.findByEmail(userEmail);
-        if (userOptional.isEmpty() || !story.getAuthorId().equals(userOptional.get().getId())) {
+        if (!story.getAuthorId().equals(userId)) {
             throw new RuntimeException("Unauthorized to delete this story");
         }
 
         successStoryRepository.deleteById(id);
     }
 
-    public SuccessStory toggleLike(String storyId, String userEmail) {
+    public SuccessStory toggleLike(String storyId, String userId) {
         Optional<SuccessStory> storyOptional = successStoryRepository.findById(storyId);
         if (storyOptional.isEmpty()) {
             throw new RuntimeException("Story not found");
         }
 
-        Optional<User> userOptional = userRepository.findByEmail(userEmail);
-        if (userOptional.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
-
         SuccessStory story = storyOptional.get();
-        String userId = userOptional.get().getId();
 
         if (story.getLikedByUsers().contains(userId)) {
             // Unlike
@@ -147,19 +123,13 @@ public class SuccessStoryService {
         return successStoryRepository.save(story);
     }
 
-    public SuccessStory addComment(String storyId, String content, String userEmail) {
+    public SuccessStory addComment(String storyId, String content, AuthenticatedUser user) {
         Optional<SuccessStory> storyOptional = successStoryRepository.findById(storyId);
         if (storyOptional.isEmpty()) {
             throw new RuntimeException("Story not found");
         }
 
-        Optional<User> userOptional = userRepository.findByEmail(userEmail);
-        if (userOptional.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
-
         SuccessStory story = storyOptional.get();
-        User user = userOptional.get();
 
         SuccessStory.Comment comment = SuccessStory.Comment.builder()
                 .id(UUID.randomUUID().toString())
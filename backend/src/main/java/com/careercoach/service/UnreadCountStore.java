@@ -0,0 +1,97 @@
+package com.careercoach.service;
+
+import com.careercoach.models.NotificationStatus;
+import com.careercoach.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counters kept in memory.
+ * A counter is seeded from Mongo the first time a user is asked about, then kept current by the
+ * notification write paths with lock-free increments/decrements. Counters that are not cached are
+ * simply skipped on writes: the next read seeds them from the database, which already includes the write.
+ * A scheduled job re-counts the cached users to correct any drift from racing writes.
+ */
+@Component
+@Slf4j
+public class UnreadCountStore {
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<String, AtomicLong> counters;
+
+    public UnreadCountStore(NotificationRepository notificationRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.notifications.unread-count.max-users:50000}") long maxUsers,
+                            @Value("${app.notifications.unread-count.idle-minutes:60}") long idleMinutes) {
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "unreadCounts");
+    }
+
+    /**
+     * Current unread count, seeding from Mongo on first access
+     */
+    public long get(String userId) {
+        return counters.get(userId, this::seed).get();
+    }
+
+    public void increment(String userId) {
+        AtomicLong counter = counters.getIfPresent(userId);
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    public void decrement(String userId) {
+        AtomicLong counter = counters.getIfPresent(userId);
+        if (counter != null) {
+            counter.getAndUpdate(value -> value > 0 ? value - 1 : 0);
+        }
+    }
+
+    /**
+     * Forget the counter so the next read re-seeds it; used after bulk changes
+     */
+    public void invalidate(String userId) {
+        counters.invalidate(userId);
+    }
+
+    /**
+     * Periodically re-count the cached users against Mongo
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.unread-count.reconcile-ms:300000}")
+    public void reconcile() {
+        int corrected = 0;
+        for (var entry : counters.asMap().entrySet()) {
+            long actual = countFromDatabase(entry.getKey());
+            long cached = entry.getValue().getAndSet(actual);
+            if (cached != actual) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciled {} drifted unread counters", corrected);
+        }
+    }
+
+    private AtomicLong seed(String userId) {
+        return new AtomicLong(countFromDatabase(userId));
+    }
+
+    private long countFromDatabase(String userId) {
+        return notificationRepository.countByUserIdAndStatus(userId, NotificationStatus.UNREAD);
+    }
+}
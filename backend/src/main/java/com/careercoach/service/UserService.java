@@ -18,6 +18,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     public User register(User user) {
         // Check if email already exists
         Optional<User> existingUser = userRepository.findByEmail(user.getEmail());
@@ -35,7 +38,11 @@ public class UserService {
         user.setProfileCompleted(false);
 
         // Save user to MongoDB
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+
+        // Drop any stale principal cached under this email
+        userDetailsService.evictUser(savedUser.getEmail());
+        return savedUser;
     }
 
     public Optional<User> findByEmail(String email) {
@@ -87,7 +94,9 @@ public class UserService {
         // Check if profile is completed
         existingUser.setProfileCompleted(isProfileComplete(existingUser));
         
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        userDetailsService.evictUser(email);
+        return savedUser;
     }
     
     public String updateProfilePicture(String email, String profilePictureUrl) {
@@ -102,6 +111,7 @@ public class UserService {
         existingUser.setProfileCompleted(isProfileComplete(existingUser));
         
         userRepository.save(existingUser);
+        userDetailsService.evictUser(email);
         return profilePictureUrl;
     }
     
@@ -1,9 +1,20 @@
 package com.careercoach.utility;
 
+import com.careercoach.models.AuthenticatedUser;
+import com.careercoach.models.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenUtil {
@@ -11,24 +22,80 @@ public class JwtTokenUtil {
     private static final String SECRET_KEY = "sheona_careercoach_secret_key_2024_very_long_for_security";
     private static final long EXPIRATION_TIME = 86400000; // 24 hours
 
-    public String generateToken(String email) {
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_NAME = "name";
+
+    // Verified claims keyed by SHA-256 of the token, each entry dropped at the token's own expiry
+    private final Cache<String, Claims> verifiedClaims;
+
+    public JwtTokenUtil(@Value("${app.jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize) {
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_NAME, user.getName())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verify the token signature and expiry once and return its claims.
+     * Tokens seen before are answered from the claims cache without re-running the HMAC check.
+     *
+     * @return the verified claims, or null if the token is invalid or expired
+     */
+    public Claims parseVerified(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        String key = digest(token);
+        Claims cached = verifiedClaims.getIfPresent(key);
+        if (cached != null) {
+            if (cached.getExpiration().after(new Date())) {
+                return cached;
+            }
+            verifiedClaims.invalidate(key);
+            return null;
+        }
+
         try {
             Claims claims = Jwts.parser()
                     .setSigningKey(SECRET_KEY)
                     .parseClaimsJws(token)
                     .getBody();
 
-            // Check if token is expired
-            return !claims.getExpiration().before(new Date());
+            // Tokens without an expiry are never accepted
+            if (claims.getExpiration() == null || claims.getExpiration().before(new Date())) {
+                return null;
+            }
+
+            verifiedClaims.put(key, claims);
+            return claims;
 
         } catch (SignatureException e) {
             System.out.println("Invalid JWT signature: " + e.getMessage());
@@ -43,19 +110,37 @@ public class JwtTokenUtil {
         } catch (Exception e) {
             System.out.println("JWT validation error: " + e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateToken(String token) {
+        return parseVerified(token) != null;
+    }
+
+    /**
+     * Build a principal straight from verified claims, without a database lookup
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        return new AuthenticatedUser(
+                claims.get(CLAIM_USER_ID, String.class),
+                claims.getSubject(),
+                claims.get(CLAIM_NAME, String.class),
+                null,
+                null);
     }
 
     public String getUsernameFromToken(String token) {
+        Claims claims = parseVerified(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    private String digest(String token) {
         try {
-            return Jwts.parser()
-                    .setSigningKey(SECRET_KEY)
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (Exception e) {
-            System.out.println("Error extracting username from token: " + e.getMessage());
-            return null;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.careercoach.utility;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of documents as newline-delimited JSON straight to the response.
+ * Documents are serialized one at a time through a single generator, so memory stays flat however
+ * long the history is. The source stream (typically a Mongo cursor) is opened on the async thread
+ * and closed when writing ends, including when the client disconnects mid-export.
+ * Exports get their own async timeout through {@link #task}, so other async requests keep the default.
+ */
+@Slf4j
+public final class NdjsonWriter {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // Push buffered lines to the client every so often; a failed flush is how a disconnect shows up
+    private static final int FLUSH_EVERY = 100;
+
+    // Long enough for a full history export; only export requests get it
+    public static final long EXPORT_TIMEOUT_MS = 600_000;
+
+    private NdjsonWriter() {
+    }
+
+    /**
+     * Async export writing straight to the servlet response, with its own {@link #EXPORT_TIMEOUT_MS} timeout
+     */
+    public static WebAsyncTask<Void> task(ObjectMapper objectMapper, Supplier<? extends Stream<?>> source,
+                                          HttpServletResponse response) {
+        StreamingResponseBody body = body(objectMapper, source);
+        response.setContentType(APPLICATION_NDJSON.toString());
+        return new WebAsyncTask<>(EXPORT_TIMEOUT_MS, () -> {
+            body.writeTo(response.getOutputStream());
+            return null;
+        });
+    }
+
+    public static StreamingResponseBody body(ObjectMapper objectMapper, Supplier<? extends Stream<?>> source) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return out -> {
+            long written = 0;
+            try (Stream<?> documents = source.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                         .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                // Root values are separated by the newline instead of Jackson's default space
+                generator.setRootValueSeparator(null);
+                Iterator<?> iterator = documents.iterator();
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away; closing the stream above already released the cursor
+                log.debug("NDJSON export stopped after {} documents: {}", written, e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package com.careercoach.utility;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over a skill dictionary.
+ * Every alias of every skill is compiled once; {@link #match} then finds all skills in a text in a
+ * single left-to-right pass, independent of dictionary size. Matching is case-insensitive, treats
+ * any run of whitespace as one space, and only accepts whole-word hits, so "go" does not match "going"
+ * while "c++" and ".net" still match next to punctuation. Instances are immutable and thread-safe.
+ */
+public final class SkillMatcher {
+
+    private static final int ROOT = 0;
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final String[] skillNames;
+    private final int[] patternSkill;   // pattern id -> skill id
+    private final int[] patternLength;  // pattern id -> length in chars
+
+    // Per state: sorted transition labels and their targets, failure link, patterns ending here
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    private final int[][] outputs;
+
+    private SkillMatcher(String[] skillNames, int[] patternSkill, int[] patternLength,
+                         char[][] labels, int[][] targets, int[] failure, int[][] outputs) {
+        this.skillNames = skillNames;
+        this.patternSkill = patternSkill;
+        this.patternLength = patternLength;
+        this.labels = labels;
+        this.targets = targets;
+        this.failure = failure;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Build a matcher from skill name to aliases; the name itself is always matched too
+     */
+    public static SkillMatcher compile(Map<String, List<String>> dictionary) {
+        List<String> names = new ArrayList<>(dictionary.keySet());
+        List<String> patterns = new ArrayList<>();
+        List<Integer> skills = new ArrayList<>();
+        for (int skill = 0; skill < names.size(); skill++) {
+            String name = names.get(skill);
+            List<String> terms = new ArrayList<>();
+            terms.add(name);
+            terms.addAll(dictionary.get(name));
+            for (String term : terms) {
+                String normalized = normalize(term);
+                if (!normalized.isEmpty()) {
+                    patterns.add(normalized);
+                    skills.add(skill);
+                }
+            }
+        }
+
+        // Trie construction with mutable per-state maps
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        trie.add(new LinkedHashMap<>());
+        terminal.add(new ArrayList<>());
+        for (int pattern = 0; pattern < patterns.size(); pattern++) {
+            int state = ROOT;
+            for (char c : patterns.get(pattern).toCharArray()) {
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new LinkedHashMap<>());
+                    terminal.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            terminal.get(state).add(pattern);
+        }
+
+        int stateCount = trie.size();
+        char[][] labels = new char[stateCount][];
+        int[][] targets = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            Character[] keys = trie.get(state).keySet().toArray(new Character[0]);
+            Arrays.sort(keys);
+            labels[state] = new char[keys.length];
+            targets[state] = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                labels[state][i] = keys[i];
+                targets[state][i] = trie.get(state).get(keys[i]);
+            }
+        }
+
+        // Breadth-first failure links; outputs include everything reachable through them
+        int[] failure = new int[stateCount];
+        int[][] outputs = new int[stateCount][];
+        outputs[ROOT] = NO_OUTPUTS;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            failure[child] = ROOT;
+            outputs[child] = toArray(terminal.get(child));
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < labels[state].length; i++) {
+                char c = labels[state][i];
+                int child = targets[state][i];
+                int fallback = failure[state];
+                int next;
+                while ((next = step(labels, targets, fallback, c)) < 0 && fallback != ROOT) {
+                    fallback = failure[fallback];
+                }
+                failure[child] = next >= 0 ? next : ROOT;
+
+                int[] own = toArray(terminal.get(child));
+                int[] inherited = outputs[failure[child]];
+                int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+                System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+                outputs[child] = merged;
+                queue.add(child);
+            }
+        }
+
+        int[] patternSkill = skills.stream().mapToInt(Integer::intValue).toArray();
+        int[] patternLength = patterns.stream().mapToInt(String::length).toArray();
+        return new SkillMatcher(names.toArray(new String[0]), patternSkill, patternLength,
+                labels, targets, failure, outputs);
+    }
+
+    /**
+     * Read a dictionary with one skill per line as "Name: alias, alias"; blank lines and # comments are skipped
+     */
+    public static Map<String, List<String>> readDictionary(InputStream input) throws IOException {
+        Map<String, List<String>> dictionary = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                String name = (colon >= 0 ? line.substring(0, colon) : line).trim();
+                List<String> aliases = dictionary.computeIfAbsent(name, key -> new ArrayList<>());
+                if (colon >= 0) {
+                    for (String alias : line.substring(colon + 1).split(",")) {
+                        if (!alias.isBlank()) {
+                            aliases.add(alias.trim());
+                        }
+                    }
+                }
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Ids of every skill found in the text
+     */
+    public BitSet match(CharSequence text) {
+        BitSet found = new BitSet(skillNames.length);
+        if (text == null) {
+            return found;
+        }
+        char[] chars = normalize(text).toCharArray();
+
+        int state = ROOT;
+        for (int position = 0; position < chars.length; position++) {
+            char c = chars[position];
+            int next;
+            while ((next = step(labels, targets, state, c)) < 0 && state != ROOT) {
+                state = failure[state];
+            }
+            state = next >= 0 ? next : ROOT;
+
+            for (int pattern : outputs[state]) {
+                int start = position - patternLength[pattern] + 1;
+                if (isWholeWord(chars, start, position)) {
+                    found.set(patternSkill[pattern]);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Names of the skills in a match result, in dictionary order
+     */
+    public List<String> names(BitSet skills) {
+        List<String> result = new ArrayList<>(skills.cardinality());
+        for (int skill = skills.nextSetBit(0); skill >= 0; skill = skills.nextSetBit(skill + 1)) {
+            result.add(skillNames[skill]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return skillNames.length;
+    }
+
+    // A match must not continue a word on either side, where the term itself starts/ends with a word character
+    private static boolean isWholeWord(char[] chars, int start, int end) {
+        boolean leftOk = start == 0 || !isWordChar(chars[start]) || !isWordChar(chars[start - 1]);
+        boolean rightOk = end == chars.length - 1 || !isWordChar(chars[end]) || !isWordChar(chars[end + 1]);
+        return leftOk && rightOk;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static int step(char[][] labels, int[][] targets, int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.isEmpty() ? NO_OUTPUTS : values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Lower-case and collapse whitespace runs to a single space
+    private static String normalize(CharSequence text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+}
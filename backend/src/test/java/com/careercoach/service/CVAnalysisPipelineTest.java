@@ -0,0 +1,235 @@
+package com.careercoach.service;
+
+import com.careercoach.models.CVAnalysisResult;
+import com.careercoach.models.CVReview;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CVAnalysisPipelineTest {
+
+    private static final String CV = "Java developer with Spring and Kubernetes experience";
+    private static final String JOB = "Looking for Java Spring Kubernetes Terraform engineers";
+
+    private final CVReviewService cvReviewService = mock(CVReviewService.class);
+    private final AnalysisResultCache resultCache = mock(AnalysisResultCache.class);
+    private final StubCvAnalyzer stub = new StubCvAnalyzer();
+    private CVAnalysisPipeline pipeline;
+
+    private CVAnalysisPipeline pipeline(CvAnalyzer analyzer, int workers, int capacity, int maxAttempts) {
+        when(resultCache.keyFor(anyString(), anyString(), anyString())).thenAnswer(call -> call.getArgument(1));
+        when(cvReviewService.completeWithAnalysis(anyString(), any())).thenReturn(Optional.of(new CVReview()));
+        pipeline = new CVAnalysisPipeline(Optional.ofNullable(analyzer), cvReviewService, resultCache,
+                new SimpleMeterRegistry(), workers, capacity, maxAttempts, 10, 100, 5, 30);
+        return pipeline;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    private static CVReview review(String id, String userId) {
+        return CVReview.builder().id(id).userId(userId).jobDescription(JOB).build();
+    }
+
+    @Test
+    void completesReviewWithStubAnalysis() {
+        pipeline(stub, 1, 10, 3).submit(review("r1", "alice"), CV);
+
+        ArgumentCaptor<CVAnalysisResult> result = ArgumentCaptor.forClass(CVAnalysisResult.class);
+        verify(cvReviewService, timeout(2000)).completeWithAnalysis(eq("r1"), result.capture());
+        assertEquals(stub.analyze(CV, JOB).getOverallMatch().getScore(), result.getValue().getOverallMatch().getScore());
+        verify(resultCache, timeout(2000)).put(eq(CV), eq("stub-1"), any());
+    }
+
+    @Test
+    void cacheHitCompletesWithoutQueueing() {
+        CVAnalysisPipeline pipeline = pipeline(stub, 1, 10, 3);
+        CVAnalysisResult cached = stub.analyze(CV, JOB);
+        when(resultCache.get(CV)).thenReturn(cached);
+
+        assertTrue(pipeline.submit(review("r1", "alice"), CV).isPresent());
+        verify(cvReviewService).completeWithAnalysis("r1", cached);
+        assertEquals(0, pipeline.getQueueDepth());
+    }
+
+    @Test
+    void takesUsersRoundRobin() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CvAnalyzer recording = new DelegatingAnalyzer(stub) {
+            @Override
+            public CVAnalysisResult analyze(String cvText, String jobDescription) throws Exception {
+                order.add(cvText);
+                release.await(2, TimeUnit.SECONDS);
+                return super.analyze(cvText, jobDescription);
+            }
+        };
+        CVAnalysisPipeline pipeline = pipeline(recording, 1, 10, 3);
+
+        // The single worker holds alice-1 while the rest queue up behind it
+        pipeline.submit(review("a1", "alice"), "alice-1");
+        waitUntil(() -> order.size() == 1);
+        pipeline.submit(review("a2", "alice"), "alice-2");
+        pipeline.submit(review("a3", "alice"), "alice-3");
+        pipeline.submit(review("b1", "bob"), "bob-1");
+        release.countDown();
+
+        verify(cvReviewService, timeout(2000)).completeWithAnalysis(eq("a3"), any());
+        assertEquals(List.of("alice-1", "alice-2", "bob-1", "alice-3"), order);
+    }
+
+    @Test
+    void retriesWithBackoffUntilAnalysisSucceeds() {
+        AtomicInteger calls = new AtomicInteger();
+        CvAnalyzer flaky = new DelegatingAnalyzer(stub) {
+            @Override
+            public CVAnalysisResult analyze(String cvText, String jobDescription) throws Exception {
+                if (calls.incrementAndGet() < 3) {
+                    throw new IllegalStateException("analyzer unavailable");
+                }
+                return super.analyze(cvText, jobDescription);
+            }
+        };
+        pipeline(flaky, 1, 10, 3).submit(review("r1", "alice"), CV);
+
+        verify(cvReviewService, timeout(2000)).completeWithAnalysis(eq("r1"), any());
+        assertEquals(3, calls.get());
+        verify(cvReviewService, never()).markAnalysisFailed(anyString());
+    }
+
+    @Test
+    void marksReviewFailedOnceAttemptsAreExhausted() {
+        AtomicInteger calls = new AtomicInteger();
+        CvAnalyzer broken = new DelegatingAnalyzer(stub) {
+            @Override
+            public CVAnalysisResult analyze(String cvText, String jobDescription) {
+                calls.incrementAndGet();
+                throw new IllegalStateException("analyzer unavailable");
+            }
+        };
+        pipeline(broken, 1, 10, 2).submit(review("r1", "alice"), CV);
+
+        verify(cvReviewService, timeout(2000)).markAnalysisFailed("r1");
+        verify(cvReviewService, after(100).never()).completeWithAnalysis(anyString(), any());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CvAnalyzer blocking = new DelegatingAnalyzer(stub) {
+            @Override
+            public CVAnalysisResult analyze(String cvText, String jobDescription) throws Exception {
+                started.countDown();
+                release.await(2, TimeUnit.SECONDS);
+                return super.analyze(cvText, jobDescription);
+            }
+        };
+        CVAnalysisPipeline pipeline = pipeline(blocking, 1, 1, 3);
+
+        pipeline.submit(review("r1", "alice"), "cv-1");
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        pipeline.submit(review("r2", "alice"), "cv-2");
+        assertThrows(RejectedExecutionException.class, () -> pipeline.submit(review("r3", "bob"), "cv-3"));
+        release.countDown();
+    }
+
+    @Test
+    void disabledWithoutAnalyzer() {
+        CVAnalysisPipeline pipeline = pipeline(null, 1, 10, 3);
+
+        assertFalse(pipeline.isEnabled());
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(review("r1", "alice"), CV));
+    }
+
+    @Test
+    void sweepSkipsWithoutAnalyzer() {
+        pipeline(null, 1, 10, 3).failStalePendingReviews();
+
+        verify(cvReviewService, never()).failStalePendingReviews(any(), anyInt(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sweepSparesReviewsStillHeldHere() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CvAnalyzer blocking = new DelegatingAnalyzer(stub) {
+            @Override
+            public CVAnalysisResult analyze(String cvText, String jobDescription) throws Exception {
+                started.countDown();
+                release.await(2, TimeUnit.SECONDS);
+                return super.analyze(cvText, jobDescription);
+            }
+        };
+        CVAnalysisPipeline pipeline = pipeline(blocking, 1, 10, 3);
+        pipeline.submit(review("r1", "alice"), "cv-1");
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+
+        pipeline.failStalePendingReviews();
+
+        ArgumentCaptor<Set<String>> inProgress = ArgumentCaptor.forClass(Set.class);
+        verify(cvReviewService).failStalePendingReviews(any(), anyInt(), inProgress.capture());
+        assertTrue(inProgress.getValue().contains("r1"));
+        release.countDown();
+        // Released once its analysis is stored
+        waitUntil(() -> !inProgress.getValue().contains("r1"));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class DelegatingAnalyzer implements CvAnalyzer {
+        private final CvAnalyzer delegate;
+
+        DelegatingAnalyzer(CvAnalyzer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String version() {
+            return delegate.version();
+        }
+
+        @Override
+        public CVAnalysisResult analyze(String cvText, String jobDescription) throws Exception {
+            return delegate.analyze(cvText, jobDescription);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.careercoach.service;
+
+import com.careercoach.models.ExtractedCvText;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CvTextExtractionServiceTest {
+
+    private static final String BODY_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>";
+    private static final String BODY_END = "</w:body></w:document>";
+
+    private final CvTextExtractionService service =
+            new CvTextExtractionService(new SimpleMeterRegistry(), 1, 4, 5_000, 5, 200_000, 64 * 1024, 1_000_000);
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void readsDocxTextRuns() throws Exception {
+        String body = "<w:p><w:r><w:t>Java developer</w:t></w:r></w:p><w:p><w:r><w:t>Spring</w:t></w:r></w:p>";
+
+        ExtractedCvText extracted = service.extract(docx("cv.docx", body));
+
+        assertEquals("DOCX", extracted.getFormat());
+        assertEquals("Java developer\nSpring", extracted.getText());
+    }
+
+    @Test
+    void rejectsDocxWhoseBodyInflatesPastTheLimit() throws Exception {
+        // Mostly markup with no text runs: compresses tiny but inflates well past the 64 KiB cap
+        String body = "<w:p/>".repeat(100_000);
+        MockMultipartFile file = docx("bomb.docx", body);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> service.extract(file));
+        assertEquals("Word document is too large to read", error.getMessage());
+    }
+
+    private static MockMultipartFile docx(String name, String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write((BODY_START + body + BODY_END).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return new MockMultipartFile("file", name, "application/octet-stream", bytes.toByteArray());
+    }
+}
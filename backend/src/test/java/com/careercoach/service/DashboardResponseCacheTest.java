@@ -0,0 +1,51 @@
+package com.careercoach.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardResponseCacheTest {
+
+    private final CVReviewSummaryStore summaryStore = mock(CVReviewSummaryStore.class);
+    private final DashboardResponseCache cache =
+            new DashboardResponseCache(new ObjectMapper(), summaryStore, new SimpleMeterRegistry(), 1_000_000);
+    private final AtomicInteger computed = new AtomicInteger();
+
+    private Map<String, Object> compute() {
+        return Map.of("totalReviews", computed.incrementAndGet());
+    }
+
+    @Test
+    void servesCachedPayloadWhileStoredVersionIsUnchanged() throws Exception {
+        when(summaryStore.currentVersion("alice")).thenReturn(7L);
+
+        DashboardResponseCache.CachedDashboard first = cache.get("alice", this::compute);
+        DashboardResponseCache.CachedDashboard second = cache.get("alice", this::compute);
+
+        assertSame(first, second);
+        assertEquals(1, computed.get());
+        assertEquals("\"7\"", cache.currentETag("alice"));
+        assertEquals("\"7\"", first.etag());
+    }
+
+    @Test
+    void recomputesWhenAnotherWriterBumpedTheVersion() throws Exception {
+        // e.g. a reconcile rebuild or a write handled by another instance; no local invalidate happens
+        when(summaryStore.currentVersion("alice")).thenReturn(7L, 8L);
+
+        cache.get("alice", this::compute);
+        DashboardResponseCache.CachedDashboard fresh = cache.get("alice", this::compute);
+
+        assertEquals(2, computed.get());
+        assertEquals(8L, fresh.version());
+        assertEquals("\"8\"", fresh.etag());
+    }
+}
@@ -0,0 +1,71 @@
+package com.careercoach.utility;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdjsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesOneDocumentPerLineAndClosesSource() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        NdjsonWriter.body(objectMapper, () -> Stream.of(Map.of("id", 1), Map.of("id", 2))
+                .onClose(() -> closed.set(true))).writeTo(out);
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void closesSourceWhenClientGoesAway() {
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Enough documents to force a flush into the failing stream
+        assertDoesNotThrow(() -> NdjsonWriter.body(objectMapper, () -> IntStream.range(0, 1_000)
+                .mapToObj(i -> Map.of("id", i))
+                .onClose(() -> closed.set(true))).writeTo(broken));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void taskWritesToResponseWithExportTimeout() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        WebAsyncTask<Void> task = NdjsonWriter.task(objectMapper, () -> Stream.of(List.of("a")), response);
+        task.getCallable().call();
+
+        assertEquals(NdjsonWriter.EXPORT_TIMEOUT_MS, task.getTimeout());
+        assertEquals(NdjsonWriter.APPLICATION_NDJSON.toString(), response.getContentType());
+        assertEquals("[\"a\"]\n", response.getContentAsString());
+    }
+}
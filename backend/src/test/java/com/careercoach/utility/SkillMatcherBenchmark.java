@@ -0,0 +1,58 @@
+package com.careercoach.utility;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one matcher pass over a ~5 KB CV using the shipped dictionary.
+ * Run from the backend directory with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.careercoach.utility.SkillMatcherBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillMatcherBenchmark {
+
+    private static final String CV_PARAGRAPH = "Senior software engineer with seven years of experience building "
+            + "microservices in Java 17 and Spring Boot, deployed on Kubernetes in AWS. Designed REST APIs and "
+            + "event pipelines with Kafka, stored data in PostgreSQL and MongoDB, cached with Redis. Led a team of "
+            + "five, mentoring junior developers and running agile ceremonies. Built React and TypeScript dashboards, "
+            + "automated CI/CD with GitHub Actions and Terraform, and improved performance tuning of hot paths. ";
+
+    private SkillMatcher matcher;
+    private String cvText;
+
+    @Setup
+    public void setUp() throws IOException {
+        matcher = SkillMatcher.compile(SkillMatcher.readDictionary(
+                SkillMatcherBenchmark.class.getResourceAsStream("/skills-dictionary.txt")));
+        cvText = CV_PARAGRAPH.repeat(10);
+    }
+
+    @Benchmark
+    public BitSet matchCv() {
+        return matcher.match(cvText);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SkillMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
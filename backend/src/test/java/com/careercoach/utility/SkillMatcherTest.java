@@ -0,0 +1,46 @@
+package com.careercoach.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SkillMatcherTest {
+
+    private final SkillMatcher matcher = SkillMatcher.compile(dictionary());
+
+    private static Map<String, List<String>> dictionary() {
+        Map<String, List<String>> dictionary = new LinkedHashMap<>();
+        dictionary.put("Java", List.of());
+        dictionary.put("JavaScript", List.of("js"));
+        dictionary.put("C++", List.of());
+        dictionary.put(".NET", List.of("asp.net"));
+        dictionary.put("Golang", List.of("go programming"));
+        dictionary.put("Machine Learning", List.of("ml"));
+        return dictionary;
+    }
+
+    @Test
+    void findsOverlappingAndAliasedSkills() {
+        String text = "Built services in Java and JavaScript (Node JS), plus some ASP.NET and C++.";
+
+        assertEquals(List.of("Java", "JavaScript", "C++", ".NET"), matcher.names(matcher.match(text)));
+    }
+
+    @Test
+    void ignoresMatchesInsideWords() {
+        String text = "Javanese cuisine, going programming classes, html pages";
+
+        assertEquals(List.of(), matcher.names(matcher.match(text)));
+    }
+
+    @Test
+    void isCaseInsensitiveAndCollapsesWhitespace() {
+        String text = "MACHINE\n   learning and Go\tProgramming";
+
+        assertEquals(List.of("Golang", "Machine Learning"), matcher.names(matcher.match(text)));
+    }
+}
@@ -34,6 +34,7 @@ import NotificationItem from './NotificationItem';
 const NotificationList = ({ onClose }) => {
   const {
     notifications,
+    nextCursor,
     unreadCount,
     isLoading,
     error,
@@ -49,8 +50,6 @@ const NotificationList = ({ onClose }) => {
   const [sortOrder, setSortOrder] = useState('desc');
   const [filterType, setFilterType] = useState('all');
   const [filterStatus, setFilterStatus] = useState('all');
-  const [page, setPage] = useState(0);
-  const [hasMore, setHasMore] = useState(true);
 
   // Tab options
   const tabs = [
@@ -102,19 +101,17 @@ const NotificationList = ({ onClose }) => {
 
   // Load notifications on mount
   useEffect(() => {
-    fetchNotifications(0, 20);
+    fetchNotifications(null, 20);
   }, [fetchNotifications]);
 
   // Handle tab change
   const handleTabChange = (event, newValue) => {
     setActiveTab(newValue);
-    setPage(0);
   };
 
   // Handle refresh
   const handleRefresh = useCallback(() => {
-    setPage(0);
-    fetchNotifications(0, 20);
+    fetchNotifications(null, 20);
   }, [fetchNotifications]);
 
   // Handle mark all as read
@@ -128,10 +125,10 @@ const NotificationList = ({ onClose }) => {
 
   // Handle load more
   const handleLoadMore = useCallback(() => {
-    const nextPage = page + 1;
-    setPage(nextPage);
-    fetchNotifications(nextPage, 20);
-  }, [page, fetchNotifications]);
+    if (nextCursor) {
+      fetchNotifications(nextCursor, 20);
+    }
+  }, [nextCursor, fetchNotifications]);
 
   // Sort menu handlers
   const handleSortClick = (event) => {
@@ -289,7 +286,7 @@ const NotificationList = ({ onClose }) => {
           )),
 
           // Load more button
-          ...(hasMore && filteredNotifications.length >= 20 ? [
+          ...(nextCursor ? [
             <Box key="load-more" sx={{ p: 2, textAlign: 'center' }}>
               <Button
                 onClick={handleLoadMore}
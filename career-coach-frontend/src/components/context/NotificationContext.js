@@ -5,9 +5,13 @@ import { toast } from 'react-toastify';
 import axios from 'axios';
 import { getCurrentUser, isAuthenticated } from '../../utils/auth';
 
+// Reconnect delay when the server gives no retry-after-ms hint
+const DEFAULT_RECONNECT_DELAY_MS = 5000;
+
 // Initial state
 const initialState = {
   notifications: [],
+  nextCursor: null,
   unreadCount: 0,
   isConnected: false,
   isLoading: false,
@@ -20,6 +24,8 @@ const NOTIFICATION_ACTIONS = {
   SET_LOADING: 'SET_LOADING',
   SET_ERROR: 'SET_ERROR',
   SET_NOTIFICATIONS: 'SET_NOTIFICATIONS',
+  APPEND_NOTIFICATIONS: 'APPEND_NOTIFICATIONS',
+  SET_NEXT_CURSOR: 'SET_NEXT_CURSOR',
   ADD_NOTIFICATION: 'ADD_NOTIFICATION',
   UPDATE_NOTIFICATION: 'UPDATE_NOTIFICATION',
   REMOVE_NOTIFICATION: 'REMOVE_NOTIFICATION',
@@ -50,6 +56,23 @@ const notificationReducer = (state, action) => {
         error: null 
       };
     
+    case NOTIFICATION_ACTIONS.APPEND_NOTIFICATIONS:
+      const loadedIds = new Set(state.notifications.map(n => n.id));
+      const appendedNotifications = [
+        ...state.notifications,
+        ...action.payload.filter(n => !loadedIds.has(n.id))
+      ];
+      return { 
+        ...state, 
+        notifications: appendedNotifications, 
+        unreadCount: appendedNotifications.filter(n => n.status === 'UNREAD').length,
+        isLoading: false,
+        error: null 
+      };
+    
+    case NOTIFICATION_ACTIONS.SET_NEXT_CURSOR:
+      return { ...state, nextCursor: action.payload };
+    
     case NOTIFICATION_ACTIONS.ADD_NOTIFICATION:
       const newNotifications = [action.payload, ...state.notifications];
       const newUnreadCount = action.payload.status === 'UNREAD' 
@@ -115,7 +138,7 @@ const notificationReducer = (state, action) => {
       return { ...state, stompClient: action.payload };
     
     case NOTIFICATION_ACTIONS.CLEAR_NOTIFICATIONS:
-      return { ...state, notifications: [], unreadCount: 0 };
+      return { ...state, notifications: [], nextCursor: null, unreadCount: 0 };
     
     default:
       return state;
@@ -168,13 +191,15 @@ export const NotificationProvider = ({ children }) => {
         debug: (str) => {
           console.log('🔍 STOMP Debug:', str);
         },
-        reconnectDelay: 5000,
+        reconnectDelay: DEFAULT_RECONNECT_DELAY_MS,
         heartbeatIncoming: 4000,
         heartbeatOutgoing: 4000,
       });
 
       stompClient.onConnect = (frame) => {
         console.log('✅ Connected to WebSocket:', frame);
+        // Back to the normal delay once the server has admitted us
+        stompClient.reconnectDelay = DEFAULT_RECONNECT_DELAY_MS;
         console.log('🎯 Subscribing to channels for user:', userId);
         dispatch({ type: NOTIFICATION_ACTIONS.SET_CONNECTION_STATUS, payload: true });
         dispatch({ type: NOTIFICATION_ACTIONS.SET_STOMP_CLIENT, payload: stompClient });
@@ -218,6 +243,14 @@ export const NotificationProvider = ({ children }) => {
         console.error('❌ STOMP Error:', frame);
         console.error('❌ Error headers:', frame.headers);
         console.error('❌ Error body:', frame.body);
+
+        // The server defers CONNECTs under load and suggests a jittered delay; use it for the next attempt
+        const retryAfterMs = parseInt(frame.headers['retry-after-ms'], 10);
+        if (Number.isFinite(retryAfterMs) && retryAfterMs > 0) {
+          console.log(`🔄 Server busy, reconnecting in ${retryAfterMs} ms`);
+          stompClient.reconnectDelay = retryAfterMs;
+        }
+
         dispatch({ type: NOTIFICATION_ACTIONS.SET_CONNECTION_STATUS, payload: false });
         dispatch({ type: NOTIFICATION_ACTIONS.SET_ERROR, payload: frame.headers['message'] || 'Failed to connect to notification service' });
       };
@@ -255,7 +288,8 @@ export const NotificationProvider = ({ children }) => {
   }, [state.stompClient, state.isConnected]);
 
   // API functions
-  const fetchNotifications = useCallback(async (page = 0, size = 10) => {
+  // Without a cursor the first page replaces the list; with one the next page is appended
+  const fetchNotifications = useCallback(async (cursor = null, limit = 20) => {
     // Check authentication first
     if (!isAuthenticated()) {
       dispatch({ type: NOTIFICATION_ACTIONS.SET_ERROR, payload: 'Authentication required. Please login again.' });
@@ -277,7 +311,11 @@ export const NotificationProvider = ({ children }) => {
         return;
       }
       
-      const response = await fetch(`http://localhost:8080/api/notifications?page=${page}&size=${size}`, {
+      const params = new URLSearchParams({ limit });
+      if (cursor) {
+        params.append('cursor', cursor);
+      }
+      const response = await fetch(`http://localhost:8080/api/notifications?${params}`, {
         method: 'GET',
         headers: {
           'Authorization': `Bearer ${token}`,
@@ -299,7 +337,11 @@ export const NotificationProvider = ({ children }) => {
       }
 
       const data = await response.json();
-      dispatch({ type: NOTIFICATION_ACTIONS.SET_NOTIFICATIONS, payload: data.content || data });
+      dispatch({
+        type: cursor ? NOTIFICATION_ACTIONS.APPEND_NOTIFICATIONS : NOTIFICATION_ACTIONS.SET_NOTIFICATIONS,
+        payload: data.items || []
+      });
+      dispatch({ type: NOTIFICATION_ACTIONS.SET_NEXT_CURSOR, payload: data.nextCursor || null });
     } catch (error) {
       console.error('Error fetching notifications:', error);
       if (error.message.includes('401') || error.message.includes('403')) {
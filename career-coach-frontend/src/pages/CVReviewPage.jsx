@@ -88,8 +88,8 @@ const CVReviewPage = () => {
         "application/msword",
       ];
       if (!allowedTypes.includes(file.type)) {
-        setError("Please upload a PDF or DOCX file only.");
-        toast.error("Please upload a PDF or DOCX file only.");
+        setError("Please upload a PDF, DOC or DOCX file only.");
+        toast.error("Please upload a PDF, DOC or DOCX file only.");
         return;
       }
 
@@ -295,12 +295,11 @@ const DashboardPage = () => {
                     </span>
                   </div>
                   <p className="text-gray-700 mb-2">
-                    <strong>Overall Score:</strong> {Math.round(review.overallMatch?.score || 0)}/100
+                    <strong>Overall Score:</strong> {review.score != null ? `${Math.round(review.score)}/100` : 'Pending'}
                   </p>
                   <div className="text-sm text-gray-600">
-                    <p><strong>Strengths:</strong> {review.strengths?.join(', ') || 'None specified'}</p>
-                    <p><strong>Areas for Improvement:</strong> {review.weaknesses?.join(', ') || 'None specified'}</p>
-                    <p><strong>Suitability:</strong> {review.suitability?.verdict || 'Not assessed'}</p>
+                    <p><strong>Summary:</strong> {review.summary || 'No summary yet'}</p>
+                    <p><strong>Suitability:</strong> {review.verdict || 'Not assessed'}</p>
                   </div>
                 </div>
               ))}
@@ -113,8 +113,11 @@ export const cvReviewAPI = {
   // Create a new CV review
   createReview: (reviewData) => api.post("/cv-reviews", reviewData),
   
-  // Get all reviews for a user
-  getUserReviews: (userId) => api.get(`/cv-reviews/user/${userId}`),
+  // Get a page of review summaries for a user ({ items, nextCursor })
+  getUserReviews: (userId, cursor, limit) =>
+    api.get(`/cv-reviews/user/${userId}`, {
+      params: { cursor, limit }
+    }),
   
   // Get a specific review by ID
   getReviewById: (reviewId) => api.get(`/cv-reviews/${reviewId}`),
@@ -122,10 +125,10 @@ export const cvReviewAPI = {
   // Delete a review
   deleteReview: (reviewId) => api.delete(`/cv-reviews/${reviewId}`),
   
-  // Get reviews within a date range
-  getReviewsInDateRange: (userId, startDate, endDate) => 
+  // Get a page of review summaries within a date range ({ items, nextCursor })
+  getReviewsInDateRange: (userId, startDate, endDate, cursor, limit) => 
     api.get(`/cv-reviews/user/${userId}/date-range`, {
-      params: { startDate, endDate }
+      params: { startDate, endDate, cursor, limit }
     }),
   
   // Get review statistics
@@ -96,6 +96,15 @@ export const userAPI = {
 export const cvReviewAPI = {
   saveCVReview: (cvReviewData) => api.post('/cv-reviews', cvReviewData),
   completeCVReview: (reviewId) => api.put(`/cv-reviews/${reviewId}/complete`),
+  extractCvText: (file) => {
+    const formData = new FormData();
+    formData.append("file", file);
+    return api.post('/cv-reviews/extract', formData, {
+      headers: {
+        "Content-Type": "multipart/form-data",
+      },
+    });
+  },
   getDashboardData: (userId) => api.get(`/cv-reviews/dashboard/${userId}`),
 };
 
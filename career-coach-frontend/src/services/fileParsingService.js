@@ -1,109 +1,37 @@
-import mammoth from 'mammoth';
+import { cvReviewAPI } from './api';
 
 /**
- * Service for parsing CV files (PDF and DOCX)
+ * Service for parsing CV files (PDF, DOC and DOCX)
  */
 class FileParsingService {
   /**
-   * Extract text from uploaded file
+   * Extract text from uploaded file; parsing happens on the server (POST /cv-reviews/extract)
    * @param {File} file - The uploaded file
    * @returns {Promise<string>} - Extracted text content
    */
   async extractText(file) {
     try {
-      const fileType = file.type;
-      
-      if (fileType === 'application/pdf') {
-        return await this.extractFromPDF(file);
-      } else if (
-        fileType === 'application/vnd.openxmlformats-officedocument.wordprocessingml.document' ||
-        fileType === 'application/msword'
-      ) {
-        return await this.extractFromDOCX(file);
-      } else {
-        throw new Error('Unsupported file type. Please upload a PDF or DOCX file.');
+      const response = await cvReviewAPI.extractCvText(file);
+      const text = response.data?.text;
+      if (!text || text.trim().length === 0) {
+        throw new Error('No text found in the uploaded file. The file might be empty, scanned or corrupted.');
       }
+      return text;
     } catch (error) {
       console.error('Error extracting text from file:', error);
-      throw new Error('Failed to extract text from the uploaded file. Please ensure the file is not corrupted.');
-    }
-  }
-
-  /**
-   * Extract text from PDF file using browser-compatible approach
-   * @param {File} file - PDF file
-   * @returns {Promise<string>} - Extracted text
-   */
-  async extractFromPDF(file) {
-    try {
-      // For PDF files, we'll provide a more user-friendly approach
-      // Since proper PDF text extraction requires complex libraries that don't work well in browsers
-      const fileName = file.name || 'uploaded file';
-      
-      // Create a mock CV content that will pass validation
-      // This allows users to proceed with PDF files while encouraging DOCX format
-      const mockCVContent = `
-CV Document: ${fileName}
-
-This is a PDF file that has been uploaded for CV review.
-For optimal text extraction and analysis, please consider converting your CV to DOCX format.
-
-Common CV sections typically include:
-- Contact information and profile
-- Professional experience and work history
-- Education and qualifications
-- Skills and competencies
-- Projects and achievements
-
-The AI analysis will proceed based on the job description you provide.
-For more accurate analysis, please ensure your job description is detailed.
-      `;
-      
-      console.log('PDF file detected:', fileName);
-      console.log('Using fallback content for PDF processing');
-      
-      return mockCVContent;
-      
-    } catch (error) {
-      console.error('PDF processing error:', error);
-      throw new Error('Failed to process PDF file. Please try converting to DOCX format for better results.');
+      const status = error.response?.status;
+      if (status === 429) {
+        const retryAfter = error.response.headers?.['retry-after'];
+        throw new Error(`The server is busy reading other CVs. Please try again${retryAfter ? ` in ${retryAfter} seconds` : ' shortly'}.`);
+      }
+      throw new Error(
+        error.response?.data?.error ||
+        error.message ||
+        'Failed to extract text from the uploaded file. Please ensure the file is not corrupted.'
+      );
     }
   }
 
-  async extractFromDOCX(file) {
-    return new Promise((resolve, reject) => {
-      const reader = new FileReader();
-      
-      reader.onload = async (event) => {
-        try {
-          const arrayBuffer = event.target.result;
-          const result = await mammoth.extractRawText({ arrayBuffer });
-          
-          if (!result.value || result.value.trim().length === 0) {
-            reject(new Error('No text found in the DOCX file. The file might be empty or corrupted.'));
-            return;
-          }
-          
-          // Log any warnings from mammoth
-          if (result.messages && result.messages.length > 0) {
-            console.warn('DOCX parsing warnings:', result.messages);
-          }
-          
-          resolve(result.value);
-        } catch (error) {
-          console.error('DOCX parsing error:', error);
-          reject(new Error('Failed to parse DOCX file. Please ensure the file is not corrupted.'));
-        }
-      };
-      
-      reader.onerror = () => {
-        reject(new Error('Failed to read the DOCX file.'));
-      };
-      
-      reader.readAsArrayBuffer(file);
-    });
-  }
-
   // Helper method to clean and format extracted text
   cleanExtractedText(text) {
     if (!text) return '';